@@ -0,0 +1,27 @@
+package com.example.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs JMH with the gc profiler and JSON results enabled by default, so every run
+ * reports allocation rates and leaves a machine-readable jmh-result.json behind.
+ * Any standard JMH option may be passed and overrides these defaults.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-prof")) {
+            options.add("-prof");
+            options.add("gc");
+        }
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
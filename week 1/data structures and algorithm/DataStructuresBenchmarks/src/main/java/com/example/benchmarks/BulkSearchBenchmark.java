@@ -0,0 +1,74 @@
+package com.example.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * SearchAlgorithms.bulkSearch on pools of 1, 4 and 16 threads against one binarySearch
+ * call per id. Scores are ids looked up per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BulkSearchBenchmark {
+    private static final int CATALOG_SIZE = 1_000_000;
+    private static final int BATCH_SIZE = 100_000;
+
+    @Param({"1", "4", "16"})
+    int parallelism;
+
+    private Object[] sorted;
+    private int[] ids;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() throws Throwable {
+        Random random = new Random(42);
+        sorted = Exercises.newCatalog(CATALOG_SIZE, random);
+        Exercises.SORT_PRODUCTS_BY_ID.invokeExact(sorted);
+        ids = new int[BATCH_SIZE];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = random.nextInt(2 * CATALOG_SIZE) + 1;
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object[] bulkSearch() throws Throwable {
+        return (Object[]) Exercises.BULK_SEARCH.invokeExact(sorted, ids, pool);
+    }
+
+    // Single-threaded baseline; it does not depend on the parallelism parameter
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void binarySearchPerId(Blackhole blackhole) throws Throwable {
+        for (int id : ids) {
+            blackhole.consume((Object) Exercises.BINARY_SEARCH.invokeExact(sorted, id));
+        }
+    }
+}
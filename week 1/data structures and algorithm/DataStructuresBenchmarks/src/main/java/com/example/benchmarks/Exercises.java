@@ -0,0 +1,157 @@
+package com.example.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Entry points into the exercise classes.
+ *
+ * The exercises live in the default package so they can be built with a plain
+ * {@code javac *.java}, but code in a named package cannot refer to them and JMH
+ * rejects benchmarks in the default package. Each method is therefore bound once
+ * to a method handle in a static final field; the JIT treats those as constants
+ * and inlines the call just like a direct invocation.
+ */
+final class Exercises {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    static final Class<?> PRODUCT = load("Product");
+    static final Class<?> PRODUCT_ARRAY = Array.newInstance(PRODUCT, 0).getClass();
+
+    // (int, String, String) -> Product
+    static final MethodHandle NEW_PRODUCT = constructor(PRODUCT, int.class, String.class, String.class);
+    // (Product[], int) -> Product
+    static final MethodHandle LINEAR_SEARCH = method("SearchAlgorithms", "linearSearch", PRODUCT, PRODUCT_ARRAY, int.class);
+    static final MethodHandle BINARY_SEARCH = method("SearchAlgorithms", "binarySearch", PRODUCT, PRODUCT_ARRAY, int.class);
+    // (Product[]) -> void
+    static final MethodHandle SORT_PRODUCTS_BY_ID = method("SearchAlgorithms", "sortProductsById", void.class, PRODUCT_ARRAY);
+    // (Product[], int[], ForkJoinPool) -> Product[]
+    static final MethodHandle BULK_SEARCH = method("SearchAlgorithms", "bulkSearch", PRODUCT_ARRAY, PRODUCT_ARRAY, int[].class, ForkJoinPool.class);
+    // (double, double, int) -> double
+    static final MethodHandle FUTURE_VALUE_RECURSIVE = method("FinancialForecast", "futureValueRecursive", double.class, double.class, double.class, int.class);
+    static final MethodHandle FUTURE_VALUE_ITERATIVE = method("FinancialForecast", "futureValueIterative", double.class, double.class, double.class, int.class);
+    // (double[], double[], int[], double[]) -> void
+    static final MethodHandle FUTURE_VALUE_BATCH = method("FinancialForecast", "futureValueBatch", void.class, double[].class, double[].class, int[].class, double[].class);
+
+    // Loading these does not create the Logger: that only happens in getInstance()
+    static final Class<?> LOGGER = load("Logger");
+    static final Class<?> LOG_LEVEL = load("Logger$Level");
+    static final Class<?> LOG_SINK = load("LogSink");
+    // () -> Logger
+    static final MethodHandle GET_LOGGER = method("Logger", "getInstance", LOGGER);
+    // (Logger, LogSink) -> LogSink
+    static final MethodHandle SET_LOG_SINK = virtual(LOGGER, "setSink", LOG_SINK, LOG_SINK);
+    // (Logger) -> void
+    static final MethodHandle FLUSH_LOGGER = virtual(LOGGER, "flush", void.class);
+    // (Logger, Level, String) -> void
+    static final MethodHandle LOG_MESSAGE = virtual(LOGGER, "log", void.class, LOG_LEVEL, String.class);
+    // (Logger, Level, String, long, long) -> void
+    static final MethodHandle LOG_LONG_LONG = virtual(LOGGER, "log", void.class, LOG_LEVEL, String.class, long.class, long.class);
+    // (Logger, Level, String, long, double) -> void
+    static final MethodHandle LOG_LONG_DOUBLE = virtual(LOGGER, "log", void.class, LOG_LEVEL, String.class, long.class, double.class);
+
+    private Exercises() {
+    }
+
+    /**
+     * Builds a shuffled catalog with ids 1, 3, 5, ... so every other id is a miss.
+     * Products share their name and category strings to keep large catalogs small.
+     */
+    static Object[] newCatalog(int size, Random random) throws Throwable {
+        // A Product[] is also an Object[], so it can be filled without naming Product
+        Object[] products = (Object[]) Array.newInstance(PRODUCT, size);
+        String name = "Product";
+        String[] categories = {"Electronics", "Clothing", "Books", "Footwear"};
+        for (int i = 0; i < size; i++) {
+            products[i] = (Object) NEW_PRODUCT.invokeExact(2 * i + 1, name, categories[i & 3]);
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Object tmp = products[i];
+            products[i] = products[j];
+            products[j] = tmp;
+        }
+        return products;
+    }
+
+    // The Logger.Level constant with the given name
+    static Object logLevel(String name) {
+        for (Object level : LOG_LEVEL.getEnumConstants()) {
+            if (((Enum<?>) level).name().equals(name)) {
+                return level;
+            }
+        }
+        throw new IllegalArgumentException("No log level " + name);
+    }
+
+    /**
+     * A LogSink that drops everything written to it, so logging benchmarks measure the Logger
+     * rather than a terminal. LogSink cannot be implemented by name from here, hence the proxy.
+     */
+    static Object discardingLogSink() {
+        return Proxy.newProxyInstance(LOG_SINK.getClassLoader(), new Class<?>[] {LOG_SINK}, (proxy, method, args) -> {
+            if (method.getName().equals("write")) {
+                ByteBuffer bytes = (ByteBuffer) args[0];
+                bytes.position(bytes.limit());
+            }
+            return null;
+        });
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Exercise class " + name + " is not on the class path", e);
+        }
+    }
+
+    private static MethodHandle method(String owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            MethodHandle handle = LOOKUP.findStatic(load(owner), name, MethodType.methodType(returnType, parameterTypes));
+            return handle.asType(hideExerciseTypes(handle.type()));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot bind " + owner + "." + name, e);
+        }
+    }
+
+    private static MethodHandle virtual(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            MethodHandle handle = LOOKUP.findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+            return handle.asType(hideExerciseTypes(handle.type()));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot bind " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> owner, Class<?>... parameterTypes) {
+        try {
+            MethodHandle handle = LOOKUP.findConstructor(owner, MethodType.methodType(void.class, parameterTypes));
+            return handle.asType(hideExerciseTypes(handle.type()));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot bind the " + owner.getSimpleName() + " constructor", e);
+        }
+    }
+
+    // Replaces exercise types with Object (Product[] with Object[]), so call sites can use
+    // invokeExact without naming them
+    private static MethodType hideExerciseTypes(MethodType type) {
+        for (int i = 0; i < type.parameterCount(); i++) {
+            type = type.changeParameterType(i, hide(type.parameterType(i)));
+        }
+        return type.changeReturnType(hide(type.returnType()));
+    }
+
+    private static Class<?> hide(Class<?> type) {
+        if (type == PRODUCT || type == LOGGER || type == LOG_LEVEL || type == LOG_SINK) {
+            return Object.class;
+        }
+        return type == PRODUCT_ARRAY ? Object[].class : type;
+    }
+}
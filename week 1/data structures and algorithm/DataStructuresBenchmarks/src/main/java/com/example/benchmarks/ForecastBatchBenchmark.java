@@ -0,0 +1,66 @@
+package com.example.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * FinancialForecast.futureValueBatch against one futureValueIterative call per portfolio.
+ * Scores are portfolios forecast per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastBatchBenchmark {
+    private static final int PORTFOLIOS = 1_000_000;
+    private static final int MONTHS = 360;
+
+    private double[] initialValues;
+    private double[] rates;
+    private int[] periods;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        initialValues = new double[PORTFOLIOS];
+        rates = new double[PORTFOLIOS];
+        periods = new int[PORTFOLIOS];
+        out = new double[PORTFOLIOS];
+        for (int i = 0; i < PORTFOLIOS; i++) {
+            initialValues[i] = 1_000 + random.nextDouble() * 99_000;
+            rates[i] = random.nextDouble() * 0.01;
+            periods[i] = MONTHS;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PORTFOLIOS)
+    public double[] futureValueIterativePerPortfolio() throws Throwable {
+        for (int i = 0; i < PORTFOLIOS; i++) {
+            out[i] = (double) Exercises.FUTURE_VALUE_ITERATIVE.invokeExact(initialValues[i], rates[i], periods[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PORTFOLIOS)
+    public double[] futureValueBatch() throws Throwable {
+        Exercises.FUTURE_VALUE_BATCH.invokeExact(initialValues, rates, periods, out);
+        return out;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * FinancialForecast.futureValueRecursive and futureValueIterative by number of periods.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastBenchmark {
+    @Param({"12", "120", "360", "1200"})
+    int periods;
+
+    // Fields rather than constants, so the JIT cannot fold the whole computation away
+    private double initialValue = 1000.0;
+    private double growthRate = 0.05;
+
+    @Benchmark
+    public double futureValueRecursive() throws Throwable {
+        return (double) Exercises.FUTURE_VALUE_RECURSIVE.invokeExact(initialValue, growthRate, periods);
+    }
+
+    @Benchmark
+    public double futureValueIterative() throws Throwable {
+        return (double) Exercises.FUTURE_VALUE_ITERATIVE.invokeExact(initialValue, growthRate, periods);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Logger.log calls per second and, with the gc profiler, heap allocated per call
+ * (gc.alloc.rate.norm, which counts the caller and the logger's writer thread together).
+ * Parameterized calls should allocate nothing; string concatenation is the baseline.
+ * The log output goes to a sink that discards it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+    private static final String PATTERN = "order {} shipped in {} ms";
+
+    private Object logger;
+    private Object debug;
+    private Object info;
+    private long orderId;
+
+    @Setup
+    public void setUp() throws Throwable {
+        logger = (Object) Exercises.GET_LOGGER.invokeExact();
+        // The previous sink writes to System.out, which stays open
+        Object console = (Object) Exercises.SET_LOG_SINK.invokeExact(logger, Exercises.discardingLogSink());
+        debug = Exercises.logLevel("DEBUG");
+        info = Exercises.logLevel("INFO");
+    }
+
+    @TearDown
+    public void tearDown() throws Throwable {
+        Exercises.FLUSH_LOGGER.invokeExact(logger);
+    }
+
+    @Benchmark
+    public void disabledTwoLongs() throws Throwable {
+        Exercises.LOG_LONG_LONG.invokeExact(logger, debug, PATTERN, orderId++, 17L);
+    }
+
+    @Benchmark
+    public void enabledTwoLongs() throws Throwable {
+        Exercises.LOG_LONG_LONG.invokeExact(logger, info, PATTERN, orderId++, 17L);
+    }
+
+    @Benchmark
+    public void enabledLongAndDouble() throws Throwable {
+        Exercises.LOG_LONG_DOUBLE.invokeExact(logger, info, PATTERN, orderId++, 17.5);
+    }
+
+    @Benchmark
+    public void enabledConcatenation() throws Throwable {
+        Exercises.LOG_MESSAGE.invokeExact(logger, info, "order " + orderId++ + " shipped in " + 17L + " ms");
+    }
+
+    // Several producers on the lock-free ring buffer; the score is the total over all threads
+    @Benchmark
+    @Threads(4)
+    public void enabledFourThreads() throws Throwable {
+        Exercises.LOG_MESSAGE.invokeExact(logger, info, "benchmark message");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SearchAlgorithms.linearSearch and binarySearch by catalog size.
+ * Half of the looked-up ids are in the catalog and half are misses.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    private static final int QUERY_MASK = (1 << 16) - 1;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    int size;
+
+    private Object[] shuffled;
+    private Object[] sorted;
+    private int[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws Throwable {
+        Random random = new Random(42);
+        shuffled = Exercises.newCatalog(size, random);
+        sorted = shuffled.clone();
+        Exercises.SORT_PRODUCTS_BY_ID.invokeExact(sorted);
+        queries = new int[QUERY_MASK + 1];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextInt(2 * size) + 1;
+        }
+    }
+
+    @Benchmark
+    public Object linearSearch() throws Throwable {
+        return (Object) Exercises.LINEAR_SEARCH.invokeExact(shuffled, queries[next++ & QUERY_MASK]);
+    }
+
+    @Benchmark
+    public Object binarySearch() throws Throwable {
+        return (Object) Exercises.BINARY_SEARCH.invokeExact(sorted, queries[next++ & QUERY_MASK]);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SearchAlgorithms.sortProductsById on a shuffled catalog.
+ * Every invocation sorts a fresh copy, so the score includes one O(n) array copy.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class SortBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    int size;
+
+    private Object[] shuffled;
+
+    @Setup
+    public void setUp() throws Throwable {
+        shuffled = Exercises.newCatalog(size, new Random(42));
+    }
+
+    @Benchmark
+    public Object[] sortProductsById() throws Throwable {
+        // clone() keeps the Product[] runtime type
+        Object[] copy = shuffled.clone();
+        Exercises.SORT_PRODUCTS_BY_ID.invokeExact(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,71 @@
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class BulkSearchBenchmark {
+    private static final int ROUNDS = 10;
+
+    // Keeps the JIT from eliminating lookups whose results are never used
+    private static long sink;
+
+    public static void main(String[] args) {
+        int catalogSize = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+
+        Random random = new Random(42);
+        Product[] products = new Product[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            products[i] = new Product(i * 3 + 1, "Product " + i, "Category " + (i % 10));
+        }
+        SearchAlgorithms.sortProductsById(products);
+
+        // Mostly hits, with some ids that are not in the catalog
+        int[] ids = new int[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            ids[i] = random.nextInt(catalogSize * 3) + 1;
+        }
+
+        System.out.printf("Catalog: %d products, batch: %d ids, available cores: %d%n",
+                catalogSize, batchSize, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-28s %16s%n", "mode", "M ids/s");
+        System.out.printf("%-28s %16.2f%n", "binarySearch per id", single(products, ids));
+        for (int parallelism : new int[] {1, 4, 16}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            System.out.printf("%-28s %16.2f%n", "bulkSearch, " + parallelism + " thread(s)", bulk(products, ids, pool));
+            pool.shutdown();
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static double single(Product[] products, int[] ids) {
+        long elapsed = 0;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            long start = System.nanoTime();
+            for (int id : ids) {
+                Product product = SearchAlgorithms.binarySearch(products, id);
+                if (product != null) {
+                    sink += product.getProductId();
+                }
+            }
+            // The first half of the rounds is warm-up
+            if (round >= ROUNDS) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        return (double) ids.length * ROUNDS * 1_000 / elapsed;
+    }
+
+    private static double bulk(Product[] products, int[] ids, ForkJoinPool pool) {
+        long elapsed = 0;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            long start = System.nanoTime();
+            Product[] results = SearchAlgorithms.bulkSearch(products, ids, pool);
+            sink += results.length;
+            if (round >= ROUNDS) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        return (double) ids.length * ROUNDS * 1_000 / elapsed;
+    }
+}
@@ -0,0 +1,65 @@
+import java.util.Arrays;
+
+// Immutable run of products sorted by productId, with at most one product per id
+public class CatalogSegment {
+    private final Product[] products;
+
+    private CatalogSegment(Product[] products) {
+        this.products = products;
+    }
+
+    /**
+     * Builds a segment from a batch of upserts.
+     * When the batch holds the same id more than once, the last upsert wins.
+     * @param batch Products in arrival order
+     * @param count Number of products in the batch to use
+     */
+    public static CatalogSegment fromBatch(Product[] batch, int count) {
+        Product[] sorted = Arrays.copyOf(batch, count);
+        // Arrays.sort on objects is stable, so equal ids stay in arrival order
+        SearchAlgorithms.sortProductsById(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i + 1 < sorted.length && sorted[i + 1].getProductId() == sorted[i].getProductId()) {
+                continue;
+            }
+            sorted[unique++] = sorted[i];
+        }
+        return new CatalogSegment(unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique));
+    }
+
+    // Merges two segments in one linear pass; on equal ids the newer segment wins
+    public static CatalogSegment merge(CatalogSegment newer, CatalogSegment older) {
+        Product[] a = newer.products;
+        Product[] b = older.products;
+        Product[] merged = new Product[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            int idA = a[i].getProductId();
+            int idB = b[j].getProductId();
+            if (idA < idB) {
+                merged[k++] = a[i++];
+            } else if (idA > idB) {
+                merged[k++] = b[j++];
+            } else {
+                merged[k++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            merged[k++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[k++] = b[j++];
+        }
+        return new CatalogSegment(k == merged.length ? merged : Arrays.copyOf(merged, k));
+    }
+
+    public int size() {
+        return products.length;
+    }
+
+    public Product find(int productId) {
+        return SearchAlgorithms.binarySearch(products, productId);
+    }
+}
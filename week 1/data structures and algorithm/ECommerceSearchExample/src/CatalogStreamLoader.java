@@ -0,0 +1,200 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams product upserts from text into a LiveCatalog, one product per line.
+ * Two line formats are accepted and may be mixed:
+ *   CSV     productId,productName,category   (fields may be double-quoted; a header line is skipped)
+ *   NDJSON  {"productId": 7, "productName": "Lamp", "category": "Home"}
+ */
+public class CatalogStreamLoader {
+    private final LiveCatalog catalog;
+
+    public CatalogStreamLoader(LiveCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Reads upserts until the end of the stream, flushing the last partial batch.
+     * @param source The text to read, e.g. a file or standard input
+     * @return The number of products loaded
+     * @throws IOException if reading fails or a line cannot be parsed
+     */
+    public long load(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        long loaded = 0;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            Product product;
+            try {
+                product = line.charAt(0) == '{' ? parseJson(line) : parseCsv(line);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+            if (product != null) {
+                catalog.upsert(product);
+                loaded++;
+            }
+        }
+        catalog.flush();
+        return loaded;
+    }
+
+    // Returns null for a CSV header line
+    static Product parseCsv(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException("Expected productId,productName,category but got " + fields.size() + " fields");
+        }
+        if (fields.get(0).equalsIgnoreCase("productId")) {
+            return null;
+        }
+        return new Product(parseId(fields.get(0)), fields.get(1), fields.get(2));
+    }
+
+    // Minimal reader for one flat JSON object with string and number values
+    static Product parseJson(String line) {
+        String productId = null, productName = null, category = null;
+        int[] position = {1};
+        skipWhitespace(line, position);
+        while (position[0] < line.length() && line.charAt(position[0]) != '}') {
+            String key = readJsonString(line, position);
+            skipWhitespace(line, position);
+            expect(line, position, ':');
+            skipWhitespace(line, position);
+            String value;
+            if (position[0] < line.length() && line.charAt(position[0]) == '"') {
+                value = readJsonString(line, position);
+            } else {
+                int start = position[0];
+                while (position[0] < line.length() && ",} \t".indexOf(line.charAt(position[0])) < 0) {
+                    position[0]++;
+                }
+                value = line.substring(start, position[0]);
+            }
+            if (key.equals("productId")) {
+                productId = value;
+            } else if (key.equals("productName")) {
+                productName = value;
+            } else if (key.equals("category")) {
+                category = value;
+            }
+            skipWhitespace(line, position);
+            if (position[0] < line.length() && line.charAt(position[0]) == ',') {
+                position[0]++;
+                skipWhitespace(line, position);
+            }
+        }
+        expect(line, position, '}');
+        if (productId == null) {
+            throw new IllegalArgumentException("Missing productId");
+        }
+        return new Product(parseId(productId), productName, category);
+    }
+
+    private static String readJsonString(String line, int[] position) {
+        expect(line, position, '"');
+        StringBuilder value = new StringBuilder();
+        while (position[0] < line.length()) {
+            char c = line.charAt(position[0]++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position[0] >= line.length()) {
+                break;
+            }
+            char escaped = line.charAt(position[0]++);
+            switch (escaped) {
+                case 'n': value.append('\n'); break;
+                case 't': value.append('\t'); break;
+                case 'r': value.append('\r'); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case 'u':
+                    if (position[0] + 4 > line.length()) {
+                        throw new IllegalArgumentException("Truncated \\u escape");
+                    }
+                    value.append((char) Integer.parseInt(line.substring(position[0], position[0] + 4), 16));
+                    position[0] += 4;
+                    break;
+                default: value.append(escaped);
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string");
+    }
+
+    private static void skipWhitespace(String line, int[] position) {
+        while (position[0] < line.length() && Character.isWhitespace(line.charAt(position[0]))) {
+            position[0]++;
+        }
+    }
+
+    private static void expect(String line, int[] position, char expected) {
+        if (position[0] >= line.length() || line.charAt(position[0]) != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' at column " + (position[0] + 1));
+        }
+        position[0]++;
+    }
+
+    private static int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid productId: " + value);
+        }
+    }
+
+    // Usage: java CatalogStreamLoader [file]   (reads standard input when no file is given)
+    public static void main(String[] args) throws IOException {
+        try (LiveCatalog catalog = new LiveCatalog();
+             Reader source = args.length > 0
+                     ? Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)
+                     : new InputStreamReader(System.in, StandardCharsets.UTF_8)) {
+            long start = System.nanoTime();
+            long loaded = new CatalogStreamLoader(catalog).load(source);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Loaded %d upserts in %.2f s into %d segment(s)%n", loaded, seconds, catalog.segmentCount());
+        }
+    }
+}
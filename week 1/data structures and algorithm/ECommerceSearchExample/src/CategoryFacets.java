@@ -0,0 +1,189 @@
+import java.util.Arrays;
+import java.util.TreeSet;
+
+public class CategoryFacets {
+    private static final int[] NO_ROWS = new int[0];
+
+    private final int rowCount;
+    // Distinct categories in sorted order; bitmaps[i] holds the rows in categories[i]
+    private final String[] categories;
+    private final RowBitmap[] bitmaps;
+    private final int[] counts;
+    // Position in categories of each row's category, or -1 if it has none
+    private final int[] categoryOfRow;
+
+    public CategoryFacets(Product[] products) {
+        rowCount = products.length;
+        TreeSet<String> distinct = new TreeSet<>();
+        for (Product product : products) {
+            if (product.getCategory() != null) {
+                distinct.add(product.getCategory());
+            }
+        }
+        categories = distinct.toArray(new String[0]);
+        counts = new int[categories.length];
+        categoryOfRow = new int[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            int category = indexOf(products[row].getCategory());
+            categoryOfRow[row] = category;
+            if (category >= 0) {
+                counts[category]++;
+            }
+        }
+
+        // Counting sort of the rows by category; each category's slice stays in ascending row order
+        int[] offsets = new int[categories.length + 1];
+        for (int c = 0; c < categories.length; c++) {
+            offsets[c + 1] = offsets[c] + counts[c];
+        }
+        int[] grouped = new int[offsets[categories.length]];
+        int[] next = Arrays.copyOf(offsets, categories.length);
+        for (int row = 0; row < rowCount; row++) {
+            if (categoryOfRow[row] >= 0) {
+                grouped[next[categoryOfRow[row]]++] = row;
+            }
+        }
+        bitmaps = new RowBitmap[categories.length];
+        for (int c = 0; c < categories.length; c++) {
+            bitmaps[c] = RowBitmap.of(grouped, offsets[c], offsets[c + 1]);
+        }
+    }
+
+    // Number of rows (products) the facets were built from
+    public int size() {
+        return rowCount;
+    }
+
+    public int categoryCount() {
+        return categories.length;
+    }
+
+    public String getCategory(int index) {
+        return categories[index];
+    }
+
+    // Position of a category in getCategory order, or -1 if no product has it
+    public int indexOf(String category) {
+        if (category == null) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(categories, category);
+        return index >= 0 ? index : -1;
+    }
+
+    public int count(String category) {
+        int index = indexOf(category);
+        return index < 0 ? 0 : counts[index];
+    }
+
+    // Number of products per category, aligned with getCategory(i)
+    public int[] facetCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * Counts how many of the given rows fall in each category, e.g. to show facet
+     * counts next to the results of a keyword search. Costs O(|rows|) whatever the
+     * catalog size or number of categories.
+     * @param rows Rows to count, such as the result of an InvertedIndex query
+     * @return Counts aligned with getCategory(i)
+     */
+    public int[] facetCounts(int[] rows) {
+        int[] result = new int[categories.length];
+        for (int row : rows) {
+            int category = categoryOfRow[row];
+            if (category >= 0) {
+                result[category]++;
+            }
+        }
+        return result;
+    }
+
+    public boolean contains(String category, int row) {
+        int index = indexOf(category);
+        return index >= 0 && categoryOfRow[row] == index;
+    }
+
+    // All rows of a category in ascending order
+    public int[] rows(String category) {
+        int index = indexOf(category);
+        return index < 0 ? NO_ROWS : bitmaps[index].toArray();
+    }
+
+    // Rows of a category in [fromRow, toRow), in ascending order
+    public int[] rows(String category, int fromRow, int toRow) {
+        int index = indexOf(category);
+        return index < 0 ? NO_ROWS : bitmaps[index].rows(fromRow, toRow);
+    }
+
+    // Keeps only the rows that belong to the category, preserving their order
+    public int[] filter(String category, int[] rows) {
+        int index = indexOf(category);
+        if (index < 0) {
+            return NO_ROWS;
+        }
+        int[] result = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            if (categoryOfRow[row] == index) {
+                result[count++] = row;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Answers "category = X AND minId <= productId <= maxId" by walking the smaller side:
+     * either the k rows of the id range (two binary searches on the ProductIndex, then a
+     * category check per row) or the c rows of the category (an id check per row, then a
+     * sort by id). No Product objects are read.
+     * @param category The category to filter on
+     * @param index A ProductIndex built from the same Product[] as these facets
+     * @param minId Smallest product id, inclusive
+     * @param maxId Largest product id, inclusive
+     * @return Matching rows in ascending productId order
+     */
+    public int[] filter(String category, ProductIndex index, int minId, int maxId) {
+        if (index.size() != rowCount) {
+            throw new IllegalArgumentException("ProductIndex was built from a different catalog");
+        }
+        int categoryIndex = indexOf(category);
+        if (categoryIndex < 0 || minId > maxId) {
+            return NO_ROWS;
+        }
+        int from = index.lowerBound(minId);
+        int to = index.upperBound(maxId);
+        if (counts[categoryIndex] < to - from) {
+            return filterCategoryRows(categoryIndex, index, minId, maxId);
+        }
+        int[] result = new int[Math.min(to - from, counts[categoryIndex])];
+        int count = 0;
+        for (int position = from; position < to && count < result.length; position++) {
+            int row = index.rowAt(position);
+            if (categoryOfRow[row] == categoryIndex) {
+                result[count++] = row;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // Category side of filter: ids of the category's rows, kept if in range and sorted by id
+    private int[] filterCategoryRows(int categoryIndex, ProductIndex index, int minId, int maxId) {
+        int[] rows = bitmaps[categoryIndex].toArray();
+        // Pack (id, row) into one long so a primitive sort orders by id, then by row
+        long[] matches = new long[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            int productId = index.getProductId(row);
+            if (productId >= minId && productId <= maxId) {
+                matches[count++] = ((long) productId << 32) | row;
+            }
+        }
+        Arrays.sort(matches, 0, count);
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = (int) matches[i];
+        }
+        return result;
+    }
+}
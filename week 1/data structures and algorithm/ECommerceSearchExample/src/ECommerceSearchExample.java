@@ -1,5 +1,11 @@
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
 public class ECommerceSearchExample {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         // Sample products
         Product[] products = {
             new Product(3, "Laptop", "Electronics"),
@@ -20,11 +26,79 @@ public class ECommerceSearchExample {
         SearchAlgorithms.sortProductsById(products);
         Product foundBinary = SearchAlgorithms.binarySearch(products, searchId);
         System.out.println("Binary Search Result: " + foundBinary);
+        int[] batchIds = {5, 9, 1, 4};
+        System.out.println("Bulk Search Results for " + Arrays.toString(batchIds) + ": " + Arrays.toString(SearchAlgorithms.bulkSearch(products, batchIds)));
+
+        // On-disk catalog: binary search runs over the memory-mapped id column
+        Path catalogFile = Files.createTempFile("products", ".pcat");
+        MappedCatalog.write(catalogFile, products);
+        try (MappedCatalog catalog = MappedCatalog.open(catalogFile)) {
+            System.out.println("Mapped Catalog Binary Search Result: " + SearchAlgorithms.binarySearch(catalog, searchId));
+        } finally {
+            // The catalog is closed before this runs, but its mapping is only released by the GC,
+            // and Windows refuses to delete a file that is still mapped
+            try {
+                Files.delete(catalogFile);
+            } catch (IOException e) {
+                catalogFile.toFile().deleteOnExit();
+            }
+        }
+
+        // Live catalog: a feed of upserts is loaded into sorted segments while lookups keep working
+        try (LiveCatalog liveCatalog = new LiveCatalog()) {
+            String feed = "productId,productName,category\n"
+                    + "4,Running Shoes,Footwear\n"
+                    + "{\"productId\": 6, \"productName\": \"Watch\", \"category\": \"Accessories\"}\n";
+            long loaded = new CatalogStreamLoader(liveCatalog).load(new StringReader(feed));
+            System.out.println("Live Catalog after " + loaded + " upserts: " + liveCatalog.find(searchId) + ", " + liveCatalog.find(6));
+        }
+
+        // Columnar index: ids are searched in a sorted int[] instead of through Product objects
+        ProductIndex index = new ProductIndex(products);
+        int row = index.findRow(searchId);
+        System.out.println("Product Index Result: row " + row + " -> " + index.getProductName(row) + " (" + index.getCategory(row) + ")");
+
+        // Hash index: constant-time lookup that stays valid across inserts and deletes, no re-sort needed
+        ProductHashIndex hashIndex = new ProductHashIndex(products);
+        System.out.println("Hash Index Result: " + hashIndex.get(searchId));
+        hashIndex.put(new Product(6, "Watch", "Accessories"));
+        hashIndex.remove(1);
+        System.out.println("Hash Index after adding 6 and removing 1: " + hashIndex.get(6) + ", " + hashIndex.get(1));
+
+        // Keyword search over product names and categories
+        InvertedIndex textIndex = new InvertedIndex(products);
+        System.out.println("Keyword Search 'electronics phone': " + Arrays.toString(textIndex.getProducts(textIndex.searchAll("electronics phone"))));
+        System.out.println("Keyword Search 'book OR shoes': " + Arrays.toString(textIndex.getProducts(textIndex.searchAny("book shoes"))));
+        System.out.println("Type-ahead 'sh': " + Arrays.toString(textIndex.getProducts(textIndex.searchPrefix("sh"))));
+
+        // Category facets: filtered search and product counts per category from compressed bitmaps
+        CategoryFacets facets = new CategoryFacets(products);
+        int[] electronics = facets.filter("Electronics", index, 1, 3);
+        System.out.print("Electronics with productId 1..3: rows " + Arrays.toString(electronics) + " ->");
+        for (int electronicsRow : electronics) {
+            System.out.print(" " + index.getProductName(electronicsRow));
+        }
+        System.out.println();
+        // products is sorted by id at this point, so facet rows are also positions for the sorted-array search
+        System.out.println("Range Search Electronics 2..5: " + Arrays.toString(SearchAlgorithms.rangeSearch(products, facets, "Electronics", 2, 5)));
+        System.out.print("Products per category:");
+        int[] counts = facets.facetCounts();
+        for (int i = 0; i < facets.categoryCount(); i++) {
+            System.out.print(" " + facets.getCategory(i) + "=" + counts[i]);
+        }
+        System.out.println();
 
         // Analysis
         System.out.println("\n--- Time Complexity Analysis ---");
         System.out.println("Linear Search: O(n) - Best: O(1), Average: O(n/2), Worst: O(n)");
         System.out.println("Binary Search: O(log n) - Best: O(1), Average/Worst: O(log n) (requires sorted array)");
+        System.out.println("Product Index: O(log n) over a primitive int[] - no Product objects touched during the search");
+        System.out.println("Hash Index: O(1) expected for lookup, insert and delete - no re-sort after catalog updates");
+        System.out.println("Inverted Index: keyword lookup costs O(log terms + matches), independent of the catalog size");
+        System.out.println("Category Facets: O(log n + min(k, c)) for a category of c products over an id range of k, O(|rows|) per facet count");
+        System.out.println("Bulk Search: O(m log m) to sort m ids, then one forward merge-join pass over the catalog");
+        System.out.println("Mapped Catalog: O(log n) over the file's id column, O(1) startup regardless of catalog size");
+        System.out.println("Live Catalog: O(s log n) per lookup over s sorted segments, kept small by background merges");
 
         System.out.println("\n--- Discussion ---");
         System.out.println("Linear search is simple and works on unsorted data, but is slow for large datasets.");
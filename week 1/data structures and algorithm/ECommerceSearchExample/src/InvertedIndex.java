@@ -0,0 +1,293 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class InvertedIndex {
+    private static final int[] NO_ROWS = new int[0];
+
+    private final Product[] products;
+    // Term dictionary in sorted order, so prefix queries are a binary search plus a range scan
+    private final String[] terms;
+    // Posting list of each term: ascending rows, stored as deltas in variable-length bytes
+    private final byte[][] postings;
+    private final int[] documentFrequency;
+
+    public InvertedIndex(Product[] products) {
+        this.products = products;
+
+        Map<String, PostingBuilder> builders = new HashMap<>();
+        for (int row = 0; row < products.length; row++) {
+            addTokens(builders, products[row].getProductName(), row);
+            addTokens(builders, products[row].getCategory(), row);
+        }
+
+        terms = builders.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        postings = new byte[terms.length][];
+        documentFrequency = new int[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            PostingBuilder builder = builders.get(terms[i]);
+            postings[i] = builder.encode();
+            documentFrequency[i] = builder.size;
+        }
+    }
+
+    /**
+     * Splits text into lowercase terms made of letters and digits.
+     * Lowercasing uses Locale.ROOT, so matching does not depend on the default locale
+     * (in a Turkish locale "TITLE".toLowerCase() would give a dotless i).
+     * @param text The text to tokenize (null is treated as empty)
+     * @return The terms in the order they appear
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    // Rows of products containing every term of the query (AND)
+    public int[] searchAll(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return NO_ROWS;
+        }
+        int[] termIds = new int[tokens.size()];
+        for (int i = 0; i < termIds.length; i++) {
+            termIds[i] = termId(tokens.get(i));
+            if (termIds[i] < 0) {
+                return NO_ROWS;
+            }
+        }
+        return intersect(termIds);
+    }
+
+    // Rows of products containing at least one term of the query (OR)
+    public int[] searchAny(String query) {
+        List<String> tokens = tokenize(query);
+        int[] termIds = new int[tokens.size()];
+        int count = 0;
+        for (String token : tokens) {
+            int termId = termId(token);
+            if (termId >= 0) {
+                termIds[count++] = termId;
+            }
+        }
+        return union(termIds, count);
+    }
+
+    /**
+     * Type-ahead search: every complete word of the query must match, and the last
+     * (possibly partial) word matches any term that starts with it.
+     * For example "red sh" finds products with "red" and "shirt" or "shoes".
+     * @param query The text typed so far
+     * @return Matching rows in ascending order
+     */
+    public int[] searchPrefix(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return NO_ROWS;
+        }
+        String prefix = tokens.remove(tokens.size() - 1);
+        int from = lowerBound(prefix);
+        int to = from;
+        while (to < terms.length && terms[to].startsWith(prefix)) {
+            to++;
+        }
+        if (from == to) {
+            return NO_ROWS;
+        }
+
+        int[] prefixTerms = new int[to - from];
+        for (int i = from; i < to; i++) {
+            prefixTerms[i - from] = i;
+        }
+        int[] rows = union(prefixTerms, prefixTerms.length);
+        for (String token : tokens) {
+            int termId = termId(token);
+            if (termId < 0) {
+                return NO_ROWS;
+            }
+            rows = intersect(rows, postings[termId]);
+        }
+        return rows;
+    }
+
+    public Product[] getProducts(int[] rows) {
+        Product[] result = new Product[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            result[i] = products[rows[i]];
+        }
+        return result;
+    }
+
+    private int termId(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        return index >= 0 ? index : -1;
+    }
+
+    private int lowerBound(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private int[] intersect(int[] termIds) {
+        // Start from the rarest term so the candidate set is as small as possible from the beginning
+        int rarest = 0;
+        for (int i = 1; i < termIds.length; i++) {
+            if (documentFrequency[termIds[i]] < documentFrequency[termIds[rarest]]) {
+                rarest = i;
+            }
+        }
+        int[] rows = decode(postings[termIds[rarest]], documentFrequency[termIds[rarest]]);
+        for (int i = 0; i < termIds.length && rows.length > 0; i++) {
+            if (i != rarest) {
+                rows = intersect(rows, postings[termIds[i]]);
+            }
+        }
+        return rows;
+    }
+
+    // Merges sorted candidates with a posting list, decoding the list as it goes
+    private static int[] intersect(int[] candidates, byte[] encoded) {
+        int[] result = new int[candidates.length];
+        int count = 0;
+        int c = 0;
+        int position = 0;
+        int row = 0;
+        while (c < candidates.length && position < encoded.length) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = encoded[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            row += delta;
+
+            while (c < candidates.length && candidates[c] < row) {
+                c++;
+            }
+            if (c < candidates.length && candidates[c] == row) {
+                result[count++] = row;
+                c++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] decode(byte[] encoded, int size) {
+        int[] rows = new int[size];
+        int position = 0;
+        int row = 0;
+        for (int i = 0; i < size; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = encoded[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            row += delta;
+            rows[i] = row;
+        }
+        return rows;
+    }
+
+    /*
+     * Rows in any of the posting lists of the first count termIds, ascending and without duplicates.
+     * Works in space proportional to the matching postings rather than to the catalog size:
+     * the lists are decoded into one array, sorted and deduplicated.
+     */
+    private int[] union(int[] termIds, int count) {
+        if (count == 0) {
+            return NO_ROWS;
+        }
+        if (count == 1) {
+            return decode(postings[termIds[0]], documentFrequency[termIds[0]]);
+        }
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            total += documentFrequency[termIds[i]];
+        }
+        int[] rows = new int[total];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int[] decoded = decode(postings[termIds[i]], documentFrequency[termIds[i]]);
+            System.arraycopy(decoded, 0, rows, size, decoded.length);
+            size += decoded.length;
+        }
+        Arrays.sort(rows);
+        int unique = 0;
+        for (int i = 0; i < rows.length; i++) {
+            if (unique == 0 || rows[unique - 1] != rows[i]) {
+                rows[unique++] = rows[i];
+            }
+        }
+        return unique == rows.length ? rows : Arrays.copyOf(rows, unique);
+    }
+
+    private static void addTokens(Map<String, PostingBuilder> builders, String text, int row) {
+        for (String token : tokenize(text)) {
+            PostingBuilder builder = builders.get(token);
+            if (builder == null) {
+                builder = new PostingBuilder();
+                builders.put(token, builder);
+            }
+            builder.add(row);
+        }
+    }
+
+    // Collects the rows of one term during construction; rows arrive in ascending order
+    private static class PostingBuilder {
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        // Delta + varint: 7 bits per byte, high bit set when more bytes follow
+        byte[] encode() {
+            byte[] out = new byte[size * 5];
+            int position = 0;
+            int previous = 0;
+            for (int i = 0; i < size; i++) {
+                int delta = rows[i] - previous;
+                previous = rows[i];
+                while ((delta & ~0x7F) != 0) {
+                    out[position++] = (byte) ((delta & 0x7F) | 0x80);
+                    delta >>>= 7;
+                }
+                out[position++] = (byte) delta;
+            }
+            return Arrays.copyOf(out, position);
+        }
+    }
+}
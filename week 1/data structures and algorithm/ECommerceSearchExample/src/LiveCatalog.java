@@ -0,0 +1,198 @@
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product catalog that accepts a continuous stream of upserts while serving lookups.
+ *
+ * Upserts are buffered and flushed as immutable sorted segments (newest first). A
+ * background thread merges segments, LSM-style, so the number of binary searches per
+ * lookup stays small. Readers never lock: they read the current segment array once and
+ * search that snapshot, while writers publish a new array instead of changing the old one.
+ */
+public class LiveCatalog implements Closeable {
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+    public static final int DEFAULT_MAX_SEGMENTS = 8;
+
+    private final int batchSize;
+    private final int maxSegments;
+
+    // Newest segment first; replaced as a whole, never modified in place
+    private volatile CatalogSegment[] segments = new CatalogSegment[0];
+
+    // Upserts not yet flushed, guarded by this
+    private final Product[] pending;
+    private int pendingCount;
+
+    private final ExecutorService merger = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-merger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // True from the moment a merge is submitted until no further merge is needed; a merge that
+    // finds more work resubmits itself without clearing it, so awaitMerges() never sees a gap
+    private final Object mergeLock = new Object();
+    private boolean mergeScheduled;
+
+    public LiveCatalog() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_MAX_SEGMENTS);
+    }
+
+    public LiveCatalog(int batchSize, int maxSegments) {
+        if (batchSize < 1 || maxSegments < 1) {
+            throw new IllegalArgumentException("Batch size and segment limit must be positive");
+        }
+        this.batchSize = batchSize;
+        this.maxSegments = maxSegments;
+        this.pending = new Product[batchSize];
+    }
+
+    /**
+     * Looks up the latest flushed version of a product without taking any lock.
+     * @param productId The id to look up
+     * @return The product, or null if no flushed upsert has that id
+     */
+    public Product find(int productId) {
+        CatalogSegment[] snapshot = segments;
+        for (CatalogSegment segment : snapshot) {
+            Product product = segment.find(productId);
+            if (product != null) {
+                return product;
+            }
+        }
+        return null;
+    }
+
+    // Buffers an upsert; it becomes visible to find() once its batch is flushed
+    public synchronized void upsert(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product cannot be null");
+        }
+        pending[pendingCount++] = product;
+        if (pendingCount == batchSize) {
+            flush();
+        }
+    }
+
+    // Publishes all buffered upserts as a new segment
+    public synchronized void flush() {
+        if (pendingCount == 0) {
+            return;
+        }
+        CatalogSegment segment = CatalogSegment.fromBatch(pending, pendingCount);
+        Arrays.fill(pending, 0, pendingCount, null);
+        pendingCount = 0;
+
+        CatalogSegment[] current = segments;
+        CatalogSegment[] next = new CatalogSegment[current.length + 1];
+        next[0] = segment;
+        System.arraycopy(current, 0, next, 1, current.length);
+        segments = next;
+        scheduleMerge();
+    }
+
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    // Number of products across all segments, counting ids shadowed by newer segments
+    public long storedCount() {
+        long count = 0;
+        for (CatalogSegment segment : segments) {
+            count += segment.size();
+        }
+        return count;
+    }
+
+    // Waits until background merges have brought the segment count under the limit
+    public void awaitMerges() throws InterruptedException {
+        synchronized (mergeLock) {
+            while (mergeScheduled) {
+                mergeLock.wait();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        merger.shutdown();
+        try {
+            merger.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void mergeSegments() {
+        boolean completed = false;
+        try {
+            CatalogSegment[] snapshot;
+            while ((snapshot = segments).length > maxSegments) {
+                // Size-tiered: merge the newest segments while the next older one is at most
+                // twice their combined size, so large old segments are rewritten rarely
+                int runEnd = 2;
+                long runSize = snapshot[0].size() + snapshot[1].size();
+                while (runEnd < snapshot.length && snapshot[runEnd].size() <= 2 * runSize) {
+                    runSize += snapshot[runEnd].size();
+                    runEnd++;
+                }
+                CatalogSegment merged = snapshot[0];
+                for (int i = 1; i < runEnd; i++) {
+                    merged = CatalogSegment.merge(merged, snapshot[i]);
+                }
+                replace(snapshot[0], runEnd, merged);
+            }
+            completed = true;
+        } finally {
+            synchronized (mergeLock) {
+                // A flush may have pushed the count over the limit while this merge was running;
+                // after a failed merge, stop instead of retrying forever
+                if (!completed || !submitMerge()) {
+                    mergeScheduled = false;
+                    mergeLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void scheduleMerge() {
+        synchronized (mergeLock) {
+            if (!mergeScheduled && submitMerge()) {
+                mergeScheduled = true;
+            }
+        }
+    }
+
+    // Submits a merge if one is needed; caller holds mergeLock
+    private boolean submitMerge() {
+        if (segments.length <= maxSegments || merger.isShutdown()) {
+            return false;
+        }
+        try {
+            merger.execute(this::mergeSegments);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Closed concurrently; the remaining segments stay searchable unmerged
+            return false;
+        }
+    }
+
+    // Swaps the run of `length` segments starting at `first` for the merged segment
+    private synchronized void replace(CatalogSegment first, int length, CatalogSegment merged) {
+        // Flushes only add segments at the front, so the run is still contiguous
+        CatalogSegment[] current = segments;
+        int start = 0;
+        while (current[start] != first) {
+            start++;
+        }
+        CatalogSegment[] next = new CatalogSegment[current.length - length + 1];
+        System.arraycopy(current, 0, next, 0, start);
+        next[start] = merged;
+        System.arraycopy(current, start + length, next, start + 1, current.length - start - length);
+        segments = next;
+    }
+}
@@ -0,0 +1,195 @@
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only product catalog backed by a memory-mapped file.
+ *
+ * File layout (big-endian):
+ *   header   magic "PCAT", version, product count, reserved (4 ints)
+ *   ids      one int per product, sorted ascending
+ *   offsets  2 * count + 1 ints; product r's name is heap[offsets[2r], offsets[2r+1])
+ *            and its category is heap[offsets[2r+1], offsets[2r+2])
+ *   heap     UTF-8 bytes of all names and categories
+ *
+ * Opening a catalog maps the file instead of reading it, so startup does not depend on
+ * the catalog size and the data lives in the OS page cache instead of the Java heap.
+ * Strings are only decoded when a product is accessed.
+ *
+ * close() closes the file, and later accesses throw IllegalStateException. The mappings
+ * themselves are released when the garbage collector frees them, not by close(): a reader on
+ * another thread may already be past the closed check, and touching a forcibly unmapped
+ * buffer crashes the JVM instead of throwing. Until then Windows refuses to delete the file.
+ */
+public class MappedCatalog implements Closeable {
+    private static final int MAGIC = 0x50434154; // "PCAT"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private final FileChannel channel;
+    private final int size;
+    private final IntBuffer ids;
+    private final IntBuffer offsets;
+    private final ByteBuffer heap;
+    private volatile boolean closed;
+
+    private MappedCatalog(FileChannel channel, int size, MappedByteBuffer idColumn, MappedByteBuffer offsetColumn,
+                          MappedByteBuffer heap) {
+        this.channel = channel;
+        this.size = size;
+        this.ids = idColumn.asIntBuffer();
+        this.offsets = offsetColumn.asIntBuffer();
+        this.heap = heap;
+    }
+
+    /**
+     * Writes products to a catalog file, sorted by productId.
+     * Null names or categories are stored as empty strings.
+     * @param path The file to create or overwrite
+     * @param products The products to store (the array itself is not modified)
+     */
+    public static void write(Path path, Product[] products) throws IOException {
+        Product[] sorted = products.clone();
+        SearchAlgorithms.sortProductsById(sorted);
+        int count = sorted.length;
+        long heapStart = HEADER_BYTES + 4L * count + 4L * (2L * count + 1);
+
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            // The heap goes first so the offset table can be filled in as the strings are encoded
+            int[] offsetTable = new int[2 * count + 1];
+            long heapSize = 0;
+            out.position(heapStart);
+            OutputStream heapOut = new BufferedOutputStream(Channels.newOutputStream(out), 1 << 16);
+            for (int row = 0; row < count; row++) {
+                offsetTable[2 * row] = (int) heapSize;
+                heapSize += writeString(heapOut, sorted[row].getProductName());
+                offsetTable[2 * row + 1] = (int) heapSize;
+                heapSize += writeString(heapOut, sorted[row].getCategory());
+                if (heapSize > Integer.MAX_VALUE) {
+                    throw new IOException("String heap exceeds 2 GB, split the catalog into several files");
+                }
+            }
+            offsetTable[2 * count] = (int) heapSize;
+            heapOut.flush();
+
+            out.position(0);
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(out), 1 << 16));
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.writeInt(count);
+            data.writeInt(0);
+            for (Product product : sorted) {
+                data.writeInt(product.getProductId());
+            }
+            for (int offset : offsetTable) {
+                data.writeInt(offset);
+            }
+            data.flush();
+        }
+    }
+
+    public static MappedCatalog open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Read the whole header
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a product catalog file: " + path);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported catalog version " + header.getInt(4) + " in " + path);
+            }
+            int count = header.getInt(8);
+            if (count < 0) {
+                throw new IOException("Catalog file is corrupt: " + path);
+            }
+            long idsStart = HEADER_BYTES;
+            long offsetsStart = idsStart + 4L * count;
+            long heapStart = offsetsStart + 4L * (2L * count + 1);
+
+            // Each column is mapped on its own, so the whole file may be larger than 2 GB
+            MappedByteBuffer ids = channel.map(FileChannel.MapMode.READ_ONLY, idsStart, 4L * count);
+            MappedByteBuffer offsets = channel.map(FileChannel.MapMode.READ_ONLY, offsetsStart, heapStart - offsetsStart);
+            MappedByteBuffer heap = channel.map(FileChannel.MapMode.READ_ONLY, heapStart, offsets.getInt(4 * 2 * count));
+            if (channel.size() != heapStart + heap.capacity()) {
+                throw new IOException("Catalog file is truncated or corrupt: " + path);
+            }
+            return new MappedCatalog(channel, count, ids, offsets, heap);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Reads straight from the mapped id column; rows are in ascending productId order
+    public int getProductId(int row) {
+        checkOpen();
+        return ids.get(row);
+    }
+
+    public String getProductName(int row) {
+        checkOpen();
+        return readString(offsets.get(2 * row), offsets.get(2 * row + 1));
+    }
+
+    public String getCategory(int row) {
+        checkOpen();
+        return readString(offsets.get(2 * row + 1), offsets.get(2 * row + 2));
+    }
+
+    // Decodes the product stored at a row
+    public Product get(int row) {
+        return new Product(getProductId(row), getProductName(row), getCategory(row));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // The mappings stay valid after the channel is closed, so readers racing with close() are safe
+        channel.close();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Catalog is closed");
+        }
+    }
+
+    private String readString(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        // A duplicate has its own position, so concurrent readers do not interfere
+        ByteBuffer view = heap.duplicate();
+        view.position(start);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int writeString(OutputStream out, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes);
+        return bytes.length;
+    }
+}
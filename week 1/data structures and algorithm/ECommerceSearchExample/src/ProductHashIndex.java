@@ -0,0 +1,169 @@
+import java.util.Arrays;
+
+public class ProductHashIndex {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    // Resize once more than 3/4 of the slots are taken
+    private static final int MAX_LOAD_NUMERATOR = 3;
+    private static final int MAX_LOAD_DENOMINATOR = 4;
+
+    // Open addressing with linear probing: keys[i] is only meaningful when products[i] != null,
+    // so every int is a usable productId and no sentinel key is needed
+    private int[] keys;
+    private Product[] products;
+    private int mask;
+    private int size;
+
+    public ProductHashIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ProductHashIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public ProductHashIndex(Product[] products) {
+        this(products.length);
+        for (Product product : products) {
+            put(product);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Looks up a product by id in expected O(1) time
+    public Product get(int productId) {
+        int slot = hash(productId) & mask;
+        Product product;
+        while ((product = products[slot]) != null) {
+            if (keys[slot] == productId) {
+                return product;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(int productId) {
+        return get(productId) != null;
+    }
+
+    /**
+     * Inserts a product, replacing any product that already has the same id.
+     * @param product The product to insert
+     * @return The product previously stored under the same id, or null
+     */
+    public Product put(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product cannot be null");
+        }
+        int productId = product.getProductId();
+        int slot = hash(productId) & mask;
+        Product existing;
+        while ((existing = products[slot]) != null) {
+            if (keys[slot] == productId) {
+                products[slot] = product;
+                return existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = productId;
+        products[slot] = product;
+        if (++size * (long) MAX_LOAD_DENOMINATOR > (long) keys.length * MAX_LOAD_NUMERATOR && keys.length < MAX_CAPACITY) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the product with the given id.
+     * Uses backward-shift deletion, so no tombstones are left behind and lookups
+     * do not slow down after many deletes.
+     * @param productId The id to remove
+     * @return The removed product, or null if the id was not present
+     */
+    public Product remove(int productId) {
+        int slot = hash(productId) & mask;
+        Product removed;
+        while ((removed = products[slot]) != null) {
+            if (keys[slot] == productId) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (removed == null) {
+            return null;
+        }
+
+        // Pull later entries of the probe run back into the hole when their home slot allows it
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (products[next] != null) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                products[hole] = products[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        products[hole] = null;
+        size--;
+        return removed;
+    }
+
+    public void clear() {
+        Arrays.fill(products, null);
+        size = 0;
+    }
+
+    private void resize(int newCapacity) {
+        int[] oldKeys = keys;
+        Product[] oldProducts = products;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldProducts[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (products[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                products[slot] = oldProducts[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        products = new Product[capacity];
+        mask = capacity - 1;
+    }
+
+    // Smallest power of two that holds expectedSize entries below the load factor
+    private static int tableSizeFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        long needed = (long) expectedSize * MAX_LOAD_DENOMINATOR / MAX_LOAD_NUMERATOR + 1;
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < needed && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // Sequential ids would cluster under linear probing, so scramble them first (murmur3 finalizer)
+    private static int hash(int key) {
+        int h = key ^ (key >>> 16);
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,111 @@
+import java.util.Arrays;
+
+public class ProductIndex {
+    // Product ids in ascending order, and the row each id came from
+    private final int[] sortedIds;
+    private final int[] sortedRows;
+
+    // Columnar storage, indexed by row (the position in the original Product[])
+    private final int[] ids;
+    private final String[] names;
+    private final String[] categories;
+
+    public ProductIndex(Product[] products) {
+        int n = products.length;
+        ids = new int[n];
+        names = new String[n];
+        categories = new String[n];
+
+        // Pack (id, row) into one long so a primitive sort orders by id, then by row
+        long[] keys = new long[n];
+        for (int row = 0; row < n; row++) {
+            Product product = products[row];
+            ids[row] = product.getProductId();
+            names[row] = product.getProductName();
+            categories[row] = product.getCategory();
+            keys[row] = ((long) ids[row] << 32) | row;
+        }
+        Arrays.sort(keys);
+
+        sortedIds = new int[n];
+        sortedRows = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortedIds[i] = (int) (keys[i] >> 32);
+            sortedRows[i] = (int) keys[i];
+        }
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Finds the row of a product by id in O(log n) without allocating.
+     * If the id occurs more than once, the first row in the original array is returned,
+     * the same product linearSearch would find.
+     * @param productId The id to look up
+     * @return The row of the product, or -1 if it is not in the index
+     */
+    public int findRow(int productId) {
+        int position = lowerBound(productId);
+        if (position < sortedIds.length && sortedIds[position] == productId) {
+            return sortedRows[position];
+        }
+        return -1;
+    }
+
+    // First position in id order whose id is >= productId (size() if there is none)
+    public int lowerBound(int productId) {
+        int left = 0, right = sortedIds.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (sortedIds[mid] < productId) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    // First position in id order whose id is > productId (size() if there is none)
+    public int upperBound(int productId) {
+        int left = 0, right = sortedIds.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (sortedIds[mid] <= productId) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    // Row of the product at a position in id order, for walking id ranges
+    public int rowAt(int position) {
+        return sortedRows[position];
+    }
+
+    public boolean contains(int productId) {
+        return findRow(productId) >= 0;
+    }
+
+    public int getProductId(int row) {
+        return ids[row];
+    }
+
+    public String getProductName(int row) {
+        return names[row];
+    }
+
+    public String getCategory(int row) {
+        return categories[row];
+    }
+
+    // Materializes a Product for callers that still need the object form
+    public Product find(int productId) {
+        int row = findRow(productId);
+        return row < 0 ? null : new Product(ids[row], names[row], categories[row]);
+    }
+}
@@ -0,0 +1,114 @@
+import java.util.Random;
+
+public class ProductIndexBenchmark {
+    private static final String[] CATEGORIES = {"Electronics", "Clothing", "Books", "Footwear", "Toys"};
+
+    // Keeps the JIT from eliminating lookups whose results are never used
+    private static long sink;
+
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 100_000, 1_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%-10s %18s %18s %18s %18s%n", "products", "linear (ns/op)", "binary (ns/op)", "index (ns/op)", "hash (ns/op)");
+        for (int size : sizes) {
+            Random random = new Random(42);
+            Product[] products = randomCatalog(size, random);
+            int[] queries = new int[1 << 16];
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = products[random.nextInt(size)].getProductId();
+            }
+
+            // Linear search is O(n) per lookup, so it gets fewer queries on big catalogs
+            int linearQueries = (int) Math.max(100, Math.min(queries.length, 200_000_000L / size));
+            double linear = timeLinear(products, queries, linearQueries);
+
+            Product[] sorted = products.clone();
+            SearchAlgorithms.sortProductsById(sorted);
+            double binary = timeBinary(sorted, queries);
+
+            ProductIndex index = new ProductIndex(products);
+            double indexed = timeIndex(index, queries);
+
+            ProductHashIndex hashIndex = new ProductHashIndex(products);
+            double hashed = timeHash(hashIndex, queries);
+
+            System.out.printf("%-10d %18.1f %18.1f %18.1f %18.1f%n", size, linear, binary, indexed, hashed);
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static Product[] randomCatalog(int size, Random random) {
+        Product[] products = new Product[size];
+        for (int i = 0; i < size; i++) {
+            products[i] = new Product(i * 7 + 1, "Product " + i, CATEGORIES[i % CATEGORIES.length]);
+        }
+        // Shuffle so neither the ids nor the objects are laid out in search order
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Product tmp = products[i];
+            products[i] = products[j];
+            products[j] = tmp;
+        }
+        return products;
+    }
+
+    private static double timeLinear(Product[] products, int[] queries, int count) {
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < Math.min(count, 100); i++) {
+                sink += SearchAlgorithms.linearSearch(products, queries[i]).getProductId();
+            }
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            sink += SearchAlgorithms.linearSearch(products, queries[i]).getProductId();
+        }
+        return (double) (System.nanoTime() - start) / count;
+    }
+
+    private static double timeBinary(Product[] sorted, int[] queries) {
+        for (int round = 0; round < 5; round++) {
+            for (int query : queries) {
+                sink += SearchAlgorithms.binarySearch(sorted, query).getProductId();
+            }
+        }
+        long start = System.nanoTime();
+        for (int query : queries) {
+            sink += SearchAlgorithms.binarySearch(sorted, query).getProductId();
+        }
+        return (double) (System.nanoTime() - start) / queries.length;
+    }
+
+    private static double timeIndex(ProductIndex index, int[] queries) {
+        for (int round = 0; round < 5; round++) {
+            for (int query : queries) {
+                sink += index.findRow(query);
+            }
+        }
+        long start = System.nanoTime();
+        for (int query : queries) {
+            sink += index.findRow(query);
+        }
+        return (double) (System.nanoTime() - start) / queries.length;
+    }
+
+    private static double timeHash(ProductHashIndex index, int[] queries) {
+        for (int round = 0; round < 5; round++) {
+            for (int query : queries) {
+                sink += index.get(query).getProductId();
+            }
+        }
+        long start = System.nanoTime();
+        for (int query : queries) {
+            sink += index.get(query).getProductId();
+        }
+        return (double) (System.nanoTime() - start) / queries.length;
+    }
+}
@@ -0,0 +1,255 @@
+import java.util.Arrays;
+
+/**
+ * Immutable compressed set of row positions, laid out like a roaring bitmap.
+ * Rows are split into chunks of 65536 by their high 16 bits, and each chunk keeps its low
+ * 16 bits in whichever container is smallest: a sorted char[] (sparse chunks), a 1024-word
+ * bitmap (dense chunks) or a char[] of runs (consecutive rows, e.g. a catalog sorted by category).
+ * An empty chunk costs nothing, so a category with c rows takes O(c) space, not O(n).
+ */
+public class RowBitmap {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    // Above this many values an array container is larger than a bitmap container (8 KB)
+    private static final int MAX_ARRAY_SIZE = 4096;
+    private static final int[] NO_ROWS = new int[0];
+
+    // High 16 bits of each non-empty chunk in ascending order, and the container holding its low bits
+    private final char[] keys;
+    private final Container[] containers;
+    private final int cardinality;
+
+    private RowBitmap(char[] keys, Container[] containers, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * Builds a bitmap from rows[from, to), which must be ascending and non-negative.
+     * @param rows Sorted row positions
+     * @param from First index to read, inclusive
+     * @param to Last index to read, exclusive
+     * @return The compressed set of those rows
+     */
+    public static RowBitmap of(int[] rows, int from, int to) {
+        char[] keys = new char[16];
+        Container[] containers = new Container[16];
+        int chunks = 0;
+        int start = from;
+        while (start < to) {
+            int key = rows[start] >>> CHUNK_BITS;
+            int end = start + 1;
+            while (end < to && rows[end] >>> CHUNK_BITS == key) {
+                end++;
+            }
+            if (chunks == keys.length) {
+                keys = Arrays.copyOf(keys, chunks * 2);
+                containers = Arrays.copyOf(containers, chunks * 2);
+            }
+            keys[chunks] = (char) key;
+            containers[chunks] = Container.of(rows, start, end);
+            chunks++;
+            start = end;
+        }
+        return new RowBitmap(Arrays.copyOf(keys, chunks), Arrays.copyOf(containers, chunks), to - from);
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean contains(int row) {
+        if (row < 0) {
+            return false;
+        }
+        int chunk = Arrays.binarySearch(keys, (char) (row >>> CHUNK_BITS));
+        return chunk >= 0 && containers[chunk].contains(row & (CHUNK_SIZE - 1));
+    }
+
+    // All rows in ascending order
+    public int[] toArray() {
+        int[] rows = new int[cardinality];
+        int count = 0;
+        for (int chunk = 0; chunk < keys.length; chunk++) {
+            count = containers[chunk].copy(0, CHUNK_SIZE, keys[chunk] << CHUNK_BITS, rows, count);
+        }
+        return rows;
+    }
+
+    /**
+     * Rows in [fromRow, toRow) in ascending order. Chunks outside the range are skipped
+     * without being read, and the chunks inside it are copied from their containers.
+     * @param fromRow First row, inclusive
+     * @param toRow Last row, exclusive
+     * @return Matching rows in ascending order
+     */
+    public int[] rows(int fromRow, int toRow) {
+        fromRow = Math.max(fromRow, 0);
+        if (fromRow >= toRow || cardinality == 0) {
+            return NO_ROWS;
+        }
+        int chunk = Arrays.binarySearch(keys, (char) (fromRow >>> CHUNK_BITS));
+        if (chunk < 0) {
+            chunk = -chunk - 1;
+        }
+        int[] rows = new int[Math.min(cardinality, toRow - fromRow)];
+        int count = 0;
+        for (; chunk < keys.length; chunk++) {
+            int base = keys[chunk] << CHUNK_BITS;
+            if (base >= toRow) {
+                break;
+            }
+            int low = Math.max(fromRow - base, 0);
+            int high = (int) Math.min((long) toRow - base, CHUNK_SIZE);
+            count = containers[chunk].copy(low, high, base, rows, count);
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    // Low 16 bits of the rows in one chunk
+    private abstract static class Container {
+        // Picks the smallest encoding for rows[from, to), which all share the same high 16 bits
+        static Container of(int[] rows, int from, int to) {
+            int size = to - from;
+            int runs = 1;
+            for (int i = from + 1; i < to; i++) {
+                if (rows[i] != rows[i - 1] + 1) {
+                    runs++;
+                }
+            }
+            // Bytes: 2 per value, 4 per run, or a fixed 8 KB bitmap
+            if (runs * 4 < Math.min(size * 2, CHUNK_SIZE / 8)) {
+                return RunContainer.of(rows, from, to, runs);
+            }
+            if (size <= MAX_ARRAY_SIZE) {
+                return ArrayContainer.of(rows, from, to);
+            }
+            return BitmapContainer.of(rows, from, to);
+        }
+
+        abstract boolean contains(int low);
+
+        // Appends base + each value in [low, high) to out from position count; returns the new count
+        abstract int copy(int low, int high, int base, int[] out, int count);
+    }
+
+    private static final class ArrayContainer extends Container {
+        private final char[] values;
+
+        private ArrayContainer(char[] values) {
+            this.values = values;
+        }
+
+        static ArrayContainer of(int[] rows, int from, int to) {
+            char[] values = new char[to - from];
+            for (int i = from; i < to; i++) {
+                values[i - from] = (char) rows[i];
+            }
+            return new ArrayContainer(values);
+        }
+
+        @Override
+        boolean contains(int low) {
+            return Arrays.binarySearch(values, (char) low) >= 0;
+        }
+
+        @Override
+        int copy(int low, int high, int base, int[] out, int count) {
+            int i = low == 0 ? 0 : Arrays.binarySearch(values, (char) low);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            for (; i < values.length && values[i] < high; i++) {
+                out[count++] = base + values[i];
+            }
+            return count;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words = new long[CHUNK_SIZE / 64];
+
+        static BitmapContainer of(int[] rows, int from, int to) {
+            BitmapContainer container = new BitmapContainer();
+            for (int i = from; i < to; i++) {
+                container.words[(rows[i] >>> 6) & (container.words.length - 1)] |= 1L << rows[i];
+            }
+            return container;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        int copy(int low, int high, int base, int[] out, int count) {
+            int first = low >>> 6;
+            int last = (high - 1) >>> 6;
+            for (int w = first; w <= last; w++) {
+                long word = words[w];
+                if (w == first) {
+                    word &= -1L << low;
+                }
+                if (w == last) {
+                    word &= -1L >>> (63 - ((high - 1) & 63));
+                }
+                while (word != 0) {
+                    out[count++] = base + (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return count;
+        }
+    }
+
+    private static final class RunContainer extends Container {
+        // starts[i] is the first value of run i and lengths[i] its length minus one
+        private final char[] starts;
+        private final char[] lengths;
+
+        private RunContainer(char[] starts, char[] lengths) {
+            this.starts = starts;
+            this.lengths = lengths;
+        }
+
+        static RunContainer of(int[] rows, int from, int to, int runs) {
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int run = 0;
+            starts[0] = (char) rows[from];
+            for (int i = from + 1; i < to; i++) {
+                if (rows[i] != rows[i - 1] + 1) {
+                    starts[++run] = (char) rows[i];
+                } else {
+                    lengths[run]++;
+                }
+            }
+            return new RunContainer(starts, lengths);
+        }
+
+        // Index of the last run starting at or before low, or -1 if every run starts after it
+        private int runAtOrBefore(int low) {
+            int i = Arrays.binarySearch(starts, (char) low);
+            return i >= 0 ? i : -i - 2;
+        }
+
+        @Override
+        boolean contains(int low) {
+            int run = runAtOrBefore(low);
+            return run >= 0 && low <= starts[run] + lengths[run];
+        }
+
+        @Override
+        int copy(int low, int high, int base, int[] out, int count) {
+            for (int run = Math.max(runAtOrBefore(low), 0); run < starts.length && starts[run] < high; run++) {
+                int end = Math.min(starts[run] + lengths[run] + 1, high);
+                for (int value = Math.max(starts[run], low); value < end; value++) {
+                    out[count++] = base + value;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -1,7 +1,14 @@
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class SearchAlgorithms {
+    // Batches smaller than this are answered on the calling thread with a single merge-join
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+    // Number of ids each fork/join leaf task looks up
+    static final int LEAF_SIZE = 1 << 12;
+
     // Linear search by productId
     public static Product linearSearch(Product[] products, int productId) {
         for (Product product : products) {
@@ -28,8 +35,144 @@ public class SearchAlgorithms {
         return null;
     }
 
+    // Binary search directly over the mapped id column; only the matching product is decoded
+    public static Product binarySearch(MappedCatalog catalog, int productId) {
+        int left = 0, right = catalog.size() - 1;
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            int midId = catalog.getProductId(mid);
+            if (midId == productId) {
+                return catalog.get(mid);
+            } else if (midId < productId) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Products of a category with minId <= productId <= maxId, in productId order.
+     * Two binary searches give the range of positions, and the category's compressed
+     * row bitmap is read only over that range, so other products are never touched.
+     * @param products Array sorted by productId
+     * @param facets CategoryFacets built from the same sorted array, so its rows are positions in it
+     * @param category The category to filter on
+     * @param minId Smallest product id, inclusive
+     * @param maxId Largest product id, inclusive
+     * @return Matching products in ascending productId order
+     */
+    public static Product[] rangeSearch(Product[] products, CategoryFacets facets, String category, int minId, int maxId) {
+        if (facets.size() != products.length) {
+            throw new IllegalArgumentException("CategoryFacets were built from a different catalog");
+        }
+        if (minId > maxId) {
+            return new Product[0];
+        }
+        int from = gallop(products, minId, 0);
+        int to = maxId == Integer.MAX_VALUE ? products.length : gallop(products, maxId + 1, from);
+        int[] rows = facets.rows(category, from, to);
+        Product[] results = new Product[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            results[i] = products[rows[i]];
+        }
+        return results;
+    }
+
     // Utility to sort products by productId
     public static void sortProductsById(Product[] products) {
         Arrays.sort(products, Comparator.comparingInt(Product::getProductId));
     }
-} 
\ No newline at end of file
+
+    // Bulk binary search: result[i] is the product with productIds[i], or null if it is missing
+    // (array must be sorted by productId)
+    public static Product[] bulkSearch(Product[] products, int[] productIds) {
+        return bulkSearch(products, productIds, ForkJoinPool.commonPool());
+    }
+
+    // Same as bulkSearch(products, productIds), running large batches on the given pool
+    public static Product[] bulkSearch(Product[] products, int[] productIds, ForkJoinPool pool) {
+        Product[] results = new Product[productIds.length];
+        if (productIds.length < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            mergeJoin(products, productIds, 0, productIds.length, results);
+        } else {
+            pool.invoke(new BulkSearchTask(products, productIds, 0, productIds.length, results));
+        }
+        return results;
+    }
+
+    // Sorts the ids in [from, to) and walks them and the catalog forward together
+    private static void mergeJoin(Product[] products, int[] productIds, int from, int to, Product[] results) {
+        // Pack (id, query position) so a primitive sort keeps track of where each answer goes
+        long[] queries = new long[to - from];
+        for (int i = from; i < to; i++) {
+            queries[i - from] = ((long) productIds[i] << 32) | i;
+        }
+        Arrays.sort(queries);
+
+        int left = 0;
+        for (long query : queries) {
+            int productId = (int) (query >> 32);
+            left = gallop(products, productId, left);
+            if (left == products.length) {
+                break;
+            }
+            if (products[left].getProductId() == productId) {
+                results[(int) query] = products[left];
+            }
+        }
+    }
+
+    // First position >= from whose id is >= productId; probes 1, 2, 4, ... ahead before
+    // binary searching, so nearby ids cost O(1) and distant ones O(log distance)
+    private static int gallop(Product[] products, int productId, int from) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < products.length && products[high].getProductId() < productId) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        high = Math.min(high, products.length);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (products[mid].getProductId() < productId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static class BulkSearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Product[] products;
+        private final int[] productIds;
+        private final int from;
+        private final int to;
+        private final Product[] results;
+
+        BulkSearchTask(Product[] products, int[] productIds, int from, int to, Product[] results) {
+            this.products = products;
+            this.productIds = productIds;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                mergeJoin(products, productIds, from, to, results);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BulkSearchTask(products, productIds, from, mid, results),
+                    new BulkSearchTask(products, productIds, mid, to, results));
+        }
+    }
+}
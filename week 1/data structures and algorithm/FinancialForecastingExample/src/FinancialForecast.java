@@ -1,4 +1,7 @@
 public class FinancialForecast {
+    // Lanes per block, so a block of out/rates/periods stays in L1 cache across all bit passes
+    private static final int BATCH_BLOCK = 1024;
+
     /**
      * Recursively calculates the future value.
      * @param initialValue The starting value
@@ -23,4 +26,62 @@ public class FinancialForecast {
         }
         return value;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Closed-form growth factor (1 + growthRate)^periods using exponentiation by squaring,
+     * so it needs O(log periods) multiplications instead of one per period.
+     */
+    public static double growthFactor(double growthRate, int periods) {
+        if (periods < 0) {
+            throw new IllegalArgumentException("Periods cannot be negative");
+        }
+        double base = 1 + growthRate;
+        double factor = 1.0;
+        for (int n = periods; n > 0; n >>>= 1) {
+            if ((n & 1) != 0) {
+                factor *= base;
+            }
+            base *= base;
+        }
+        return factor;
+    }
+
+    /**
+     * Batch version of the future value calculation for many portfolios at once:
+     * out[i] = initialValues[i] * (1 + rates[i])^periods[i].
+     * Works block by block, one bit of the periods at a time (most significant first),
+     * so every inner loop is a straight pass over primitive arrays with no branches
+     * or calls that the JIT can vectorize. Nothing is allocated.
+     * @param initialValues The starting value of each portfolio
+     * @param rates The growth rate per period of each portfolio
+     * @param periods Number of periods to forecast for each portfolio
+     * @param out Receives the forecasted values; may not be one of the input arrays
+     */
+    public static void futureValueBatch(double[] initialValues, double[] rates, int[] periods, double[] out) {
+        int n = out.length;
+        if (initialValues.length != n || rates.length != n || periods.length != n) {
+            throw new IllegalArgumentException("All arrays must have the same length");
+        }
+        for (int from = 0; from < n; from += BATCH_BLOCK) {
+            int to = Math.min(n, from + BATCH_BLOCK);
+            int allBits = 0;
+            for (int i = from; i < to; i++) {
+                if (periods[i] < 0) {
+                    throw new IllegalArgumentException("Periods cannot be negative");
+                }
+                allBits |= periods[i];
+                out[i] = 1.0;
+            }
+            // Left-to-right binary exponentiation: square, then multiply in (1 + rate) where the bit is set
+            for (int bit = 31 - Integer.numberOfLeadingZeros(allBits); bit >= 0; bit--) {
+                for (int i = from; i < to; i++) {
+                    double factor = out[i] * out[i];
+                    out[i] = ((periods[i] >>> bit) & 1) != 0 ? factor * (1 + rates[i]) : factor;
+                }
+            }
+            for (int i = from; i < to; i++) {
+                out[i] *= initialValues[i];
+            }
+        }
+    }
+}
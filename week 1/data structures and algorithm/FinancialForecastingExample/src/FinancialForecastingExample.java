@@ -9,12 +9,53 @@ public class FinancialForecastingExample {
 
         System.out.printf("Recursive Future Value after %d periods: %.2f\n", periods, recursiveResult);
         System.out.printf("Iterative Future Value after %d periods: %.2f\n", periods, iterativeResult);
+        System.out.printf("Closed-form Future Value after %d periods: %.2f\n", periods, initialValue * FinancialForecast.growthFactor(growthRate, periods));
+
+        // Batch forecast for several portfolios in one call, written into a caller-supplied array
+        double[] initialValues = {1000.0, 2500.0, 500.0};
+        double[] rates = {0.05, 0.004, 0.01};
+        int[] horizons = {10, 360, 120};
+        double[] forecasts = new double[initialValues.length];
+        FinancialForecast.futureValueBatch(initialValues, rates, horizons, forecasts);
+        for (int i = 0; i < forecasts.length; i++) {
+            System.out.printf("Batch Future Value of %.2f at %.1f%% after %d periods: %.2f\n",
+                    initialValues[i], rates[i] * 100, horizons[i], forecasts[i]);
+        }
+
+        // Stack-safe recursion: 30 years of daily compounding recurses only ~14 levels deep
+        ForecastRecursionEngine engine = new ForecastRecursionEngine();
+        int days = 30 * 365;
+        double dailyRate = 0.0002;
+        System.out.printf("Stack-safe Recursive Future Value after %d daily periods: %.2f\n", days, engine.futureValue(initialValue, dailyRate, days));
+        double[] dailyHorizons = new double[days];
+        engine.allHorizons(initialValue, dailyRate, dailyHorizons);
+        System.out.printf("All horizons in one pass: after 1 year %.2f, 10 years %.2f, 30 years %.2f\n",
+                dailyHorizons[365 - 1], dailyHorizons[10 * 365 - 1], dailyHorizons[days - 1]);
+
+        // Monte Carlo: random monthly returns instead of one fixed rate, summarized as percentiles
+        MonteCarloForecast.Result simulation = MonteCarloForecast.simulate(initialValue, 0.005, 0.04, 120, 100_000, 42);
+        System.out.printf("Monte Carlo over %d paths of 120 periods: P5 %.2f, P50 %.2f, P95 %.2f, mean %.2f\n",
+                simulation.paths(), simulation.p5(), simulation.p50(), simulation.p95(), simulation.mean());
+
+        // Streaming: each new period of actuals updates the growth estimate in O(1)
+        ForecastStream stream = new ForecastStream(0.3);
+        double[] actuals = {1000.0, 1048.0, 1103.0, 1155.0, 1216.0};
+        for (double actual : actuals) {
+            stream.push(0, actual);
+            System.out.printf("Stream update %.2f -> estimated rate %.2f%%, next period %.2f\n",
+                    actual, stream.growthRate(0) * 100, stream.nextValue(0));
+        }
+        System.out.printf("Stream forecast %d periods ahead: %.2f\n", periods, stream.forecast(0, periods));
 
         System.out.println("\n--- Recursion Concept ---");
         System.out.println("Recursion is when a method calls itself to solve smaller instances of a problem. It can simplify code for problems with repetitive structure, like this forecasting formula.");
 
         System.out.println("\n--- Time Complexity Analysis ---");
         System.out.println("The recursive algorithm has O(n) time complexity, where n is the number of periods. Each call reduces the problem by one period.");
+        System.out.println("Exponentiation by squaring (growthFactor, futureValueBatch) needs only O(log n) multiplications per forecast.");
+        System.out.println("ForecastRecursionEngine recurses once per binary digit of n (O(log n) depth), so it cannot overflow the stack.");
+        System.out.println("Monte Carlo simulation is O(paths x periods), spread over all cores; percentiles come from O(1)-memory sketches.");
+        System.out.println("ForecastStream updates a series in O(1) per new observation instead of re-running the whole forecast.");
 
         System.out.println("\n--- Optimization ---");
         System.out.println("Recursion can lead to stack overflow for large n. Iterative or closed-form solutions (like initialValue * (1 + growthRate)^periods) are preferred for performance and to avoid excessive computation.");
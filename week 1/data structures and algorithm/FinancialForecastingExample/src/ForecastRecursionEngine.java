@@ -0,0 +1,102 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stack-safe, memoized version of the recursive future value calculation.
+ *
+ * futureValueRecursive recurses once per period, so it overflows the stack somewhere
+ * past ~10k periods. This engine recurses once per binary digit of the period count
+ * instead (at most 31 levels), using the growth factors (1 + rate)^(2^k), which are
+ * cached per rate so many horizons for the same rate share the work.
+ */
+public class ForecastRecursionEngine {
+    public static final int DEFAULT_CACHE_SIZE = 256;
+    // Re-anchor allHorizons on an exact factor this often, so rounding errors do not build up
+    private static final int ANCHOR_INTERVAL = 1024;
+
+    private final Map<Long, double[]> powersByRate;
+
+    public ForecastRecursionEngine() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize How many distinct growth rates to keep factors for; the least
+     *                  recently used rate is evicted first
+     */
+    public ForecastRecursionEngine(final int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.powersByRate = new LinkedHashMap<Long, double[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, double[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Calculates the future value in O(log periods) with at most 31 levels of recursion.
+     * @param initialValue The starting value
+     * @param growthRate The growth rate per period (e.g., 0.05 for 5%)
+     * @param periods Number of periods to forecast
+     * @return The forecasted future value
+     */
+    public double futureValue(double initialValue, double growthRate, int periods) {
+        if (periods < 0) {
+            throw new IllegalArgumentException("Periods cannot be negative");
+        }
+        return initialValue * growthFactor(powersOf(growthRate), periods, 0);
+    }
+
+    /**
+     * Forecasts every horizon 1..N in a single pass.
+     * @param initialValue The starting value
+     * @param growthRate The growth rate per period
+     * @param out Receives the value after h periods at out[h - 1]; its length is N
+     */
+    public void allHorizons(double initialValue, double growthRate, double[] out) {
+        double[] powers = powersOf(growthRate);
+        double base = powers[0];
+        double value = initialValue;
+        for (int h = 1; h <= out.length; h++) {
+            value = h % ANCHOR_INTERVAL == 0 ? initialValue * growthFactor(powers, h, 0) : value * base;
+            out[h - 1] = value;
+        }
+    }
+
+    public int cachedRates() {
+        synchronized (powersByRate) {
+            return powersByRate.size();
+        }
+    }
+
+    // (1 + growthRate)^periods from the cached powers; the plain closed form without the cache is
+    // FinancialForecast.growthFactor. Multiplies in the factor for the lowest remaining bit, then
+    // recurses on the rest.
+    private static double growthFactor(double[] powers, int periods, int bit) {
+        if (periods == 0) {
+            return 1.0;
+        }
+        double rest = growthFactor(powers, periods >>> 1, bit + 1);
+        return (periods & 1) != 0 ? powers[bit] * rest : rest;
+    }
+
+    // powers[k] = (1 + growthRate)^(2^k), computed once per rate by repeated squaring
+    private double[] powersOf(double growthRate) {
+        Long key = Double.doubleToLongBits(growthRate);
+        synchronized (powersByRate) {
+            double[] powers = powersByRate.get(key);
+            if (powers == null) {
+                powers = new double[31];
+                powers[0] = 1 + growthRate;
+                for (int k = 1; k < powers.length; k++) {
+                    powers[k] = powers[k - 1] * powers[k - 1];
+                }
+                powersByRate.put(key, powers);
+            }
+            return powers;
+        }
+    }
+}
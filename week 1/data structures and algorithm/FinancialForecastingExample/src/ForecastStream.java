@@ -0,0 +1,123 @@
+import java.util.Arrays;
+
+/**
+ * Incremental forecasting for many independent time series.
+ *
+ * Instead of re-running the forecast from scratch when a new period of actuals arrives,
+ * each push updates the series' growth rate as an exponentially weighted moving average
+ * of its period-over-period growth, in O(1). State is kept in primitive arrays indexed by
+ * series id, so thousands of series cost a few bytes each and nothing is boxed.
+ * Not thread-safe: push from a single thread, or synchronize externally.
+ */
+public class ForecastStream {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final double smoothing;
+
+    private double[] lastValues;
+    private double[] growthRates;
+    // Whether growthRates[i] holds an estimate yet; the first valid growth seeds it
+    private boolean[] hasRate;
+    private long[] observations;
+    private int seriesCount;
+
+    /**
+     * @param smoothing Weight of the newest growth observation, between 0 (exclusive) and 1;
+     *                  higher values react faster, lower values smooth out noise
+     */
+    public ForecastStream(double smoothing) {
+        this(smoothing, DEFAULT_CAPACITY);
+    }
+
+    public ForecastStream(double smoothing, int expectedSeries) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1]");
+        }
+        int capacity = Math.max(1, expectedSeries);
+        this.smoothing = smoothing;
+        this.lastValues = new double[capacity];
+        this.growthRates = new double[capacity];
+        this.hasRate = new boolean[capacity];
+        this.observations = new long[capacity];
+    }
+
+    /**
+     * Records the actual value of the next period for a series, in O(1).
+     * Series ids are dense small integers; a new id simply starts a new series.
+     * @param series The series id (0 or more)
+     * @param value The observed value for the period
+     */
+    public void push(int series, double value) {
+        if (series < 0) {
+            throw new IllegalArgumentException("Series id cannot be negative");
+        }
+        if (series >= lastValues.length) {
+            grow(series + 1);
+        }
+        seriesCount = Math.max(seriesCount, series + 1);
+
+        long seen = observations[series]++;
+        double last = lastValues[series];
+        lastValues[series] = value;
+        // Growth from a zero value is undefined, e.g. for a series that starts at 0
+        if (seen == 0 || last == 0) {
+            return;
+        }
+        double growth = value / last - 1;
+        if (hasRate[series]) {
+            growthRates[series] += smoothing * (growth - growthRates[series]);
+        } else {
+            growthRates[series] = growth;
+            hasRate[series] = true;
+        }
+    }
+
+    public int seriesCount() {
+        return seriesCount;
+    }
+
+    public long observations(int series) {
+        return series < seriesCount ? observations[series] : 0;
+    }
+
+    public double lastValue(int series) {
+        return series < seriesCount ? lastValues[series] : Double.NaN;
+    }
+
+    // Estimated growth rate per period (0 until a growth can be measured from a non-zero value)
+    public double growthRate(int series) {
+        return series < seriesCount ? growthRates[series] : 0.0;
+    }
+
+    // Projected value of the next period, in O(1)
+    public double nextValue(int series) {
+        return lastValue(series) * (1 + growthRate(series));
+    }
+
+    // Projected value `periods` periods ahead of the last observation
+    public double forecast(int series, int periods) {
+        return lastValue(series) * FinancialForecast.growthFactor(growthRate(series), periods);
+    }
+
+    /**
+     * Projects every series `periods` ahead into a caller-supplied array, allocation-free.
+     * @param periods Periods ahead of each series' last observation
+     * @param out Receives the projection of series i at out[i]; must hold seriesCount() values
+     */
+    public void forecastAll(int periods, double[] out) {
+        if (out.length < seriesCount) {
+            throw new IllegalArgumentException("Output array is smaller than the number of series");
+        }
+        for (int i = 0; i < seriesCount; i++) {
+            out[i] = lastValues[i] * FinancialForecast.growthFactor(growthRates[i], periods);
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, lastValues.length + (lastValues.length >> 1));
+        lastValues = Arrays.copyOf(lastValues, capacity);
+        growthRates = Arrays.copyOf(growthRates, capacity);
+        hasRate = Arrays.copyOf(hasRate, capacity);
+        observations = Arrays.copyOf(observations, capacity);
+    }
+}
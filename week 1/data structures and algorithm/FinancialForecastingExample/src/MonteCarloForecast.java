@@ -0,0 +1,159 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo version of the forecast: instead of one fixed growth rate, every period
+ * draws a random return from a normal distribution with the given mean and volatility.
+ *
+ * Paths are split into fork/join tasks. Each task gets its own SplittableRandom split
+ * from its parent, so there is no shared state and the result depends only on the seed.
+ * Outcomes go into per-task quantile sketches that are merged at the end, so memory
+ * does not grow with the number of paths.
+ */
+public class MonteCarloForecast {
+    // Percentiles are reported within 0.5% of the exact value
+    public static final double SKETCH_ACCURACY = 0.005;
+    // Paths simulated by one fork/join leaf task
+    private static final long LEAF_PATHS = 10_000;
+
+    public static Result simulate(double initialValue, double meanRate, double volatility,
+                                  int periods, long paths, long seed) {
+        return simulate(initialValue, meanRate, volatility, periods, paths, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Simulates paths and summarizes the distribution of their final values.
+     * A period return below -100% leaves the path at 0.
+     * @param initialValue The starting value of every path
+     * @param meanRate Expected return per period (e.g., 0.005 for 0.5%)
+     * @param volatility Standard deviation of the return per period
+     * @param periods Number of periods per path
+     * @param paths Number of paths to simulate
+     * @param seed Seed of the random numbers; the same seed gives the same result
+     * @param pool The pool to run the simulation on
+     */
+    public static Result simulate(double initialValue, double meanRate, double volatility,
+                                  int periods, long paths, long seed, ForkJoinPool pool) {
+        if (periods < 0 || paths < 1 || volatility < 0) {
+            throw new IllegalArgumentException("Periods and volatility cannot be negative and paths must be positive");
+        }
+        PathTask task = new PathTask(initialValue, meanRate, volatility, periods, paths, new SplittableRandom(seed));
+        return new Result(pool.invoke(task));
+    }
+
+    public static class Result {
+        private final QuantileSketch sketch;
+        private final double mean;
+
+        private Result(Partial partial) {
+            this.sketch = partial.sketch;
+            this.mean = partial.sum / partial.sketch.count();
+        }
+
+        public long paths() {
+            return sketch.count();
+        }
+
+        public double mean() {
+            return mean;
+        }
+
+        public double p5() {
+            return sketch.quantile(0.05);
+        }
+
+        public double p50() {
+            return sketch.quantile(0.50);
+        }
+
+        public double p95() {
+            return sketch.quantile(0.95);
+        }
+
+        // Any other percentile, e.g. percentile(99) for P99
+        public double percentile(double percentile) {
+            return sketch.quantile(percentile / 100);
+        }
+    }
+
+    // Outcome of a group of paths: their distribution and the sum for the mean
+    private static class Partial {
+        final QuantileSketch sketch;
+        final double sum;
+
+        Partial(QuantileSketch sketch, double sum) {
+            this.sketch = sketch;
+            this.sum = sum;
+        }
+    }
+
+    private static class PathTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final double initialValue;
+        private final double meanRate;
+        private final double volatility;
+        private final int periods;
+        private final long paths;
+        private final SplittableRandom random;
+
+        PathTask(double initialValue, double meanRate, double volatility, int periods, long paths, SplittableRandom random) {
+            this.initialValue = initialValue;
+            this.meanRate = meanRate;
+            this.volatility = volatility;
+            this.periods = periods;
+            this.paths = paths;
+            this.random = random;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (paths <= LEAF_PATHS) {
+                return simulateLeaf();
+            }
+            long half = paths / 2;
+            // Split before forking, so the streams depend on the task tree and not on thread timing
+            PathTask right = new PathTask(initialValue, meanRate, volatility, periods, paths - half, random.split());
+            PathTask left = new PathTask(initialValue, meanRate, volatility, periods, half, random);
+            right.fork();
+            Partial leftResult = left.compute();
+            Partial rightResult = right.join();
+            leftResult.sketch.merge(rightResult.sketch);
+            return new Partial(leftResult.sketch, leftResult.sum + rightResult.sum);
+        }
+
+        private Partial simulateLeaf() {
+            QuantileSketch sketch = new QuantileSketch(SKETCH_ACCURACY);
+            double sum = 0;
+            double spare = 0;
+            boolean hasSpare = false;
+            for (long path = 0; path < paths; path++) {
+                double value = initialValue;
+                for (int period = 0; period < periods; period++) {
+                    double z;
+                    if (hasSpare) {
+                        z = spare;
+                        hasSpare = false;
+                    } else {
+                        // Marsaglia polar method: two standard normal draws per accepted point
+                        double u, v, s;
+                        do {
+                            u = 2 * random.nextDouble() - 1;
+                            v = 2 * random.nextDouble() - 1;
+                            s = u * u + v * v;
+                        } while (s >= 1 || s == 0);
+                        double scale = Math.sqrt(-2 * Math.log(s) / s);
+                        z = u * scale;
+                        spare = v * scale;
+                        hasSpare = true;
+                    }
+                    value *= Math.max(0, 1 + meanRate + volatility * z);
+                }
+                sketch.add(value);
+                sum += value;
+            }
+            return new Partial(sketch, sum);
+        }
+    }
+}
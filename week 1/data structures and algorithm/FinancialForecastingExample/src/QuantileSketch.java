@@ -0,0 +1,116 @@
+import java.util.Arrays;
+
+/**
+ * Streaming quantile sketch with a fixed relative error (the DDSketch idea).
+ *
+ * Positive values are counted in logarithmic buckets: bucket i holds values in
+ * (gamma^(i-1), gamma^i], so any quantile is returned within relativeAccuracy of the
+ * true value while memory depends only on the range of magnitudes, not on how many
+ * values were added. Sketches built on different threads can be merged.
+ * Values <= 0 (e.g. a portfolio that lost everything) are counted as 0; NaN and infinite
+ * values are rejected.
+ */
+public class QuantileSketch {
+    private final double relativeAccuracy;
+    private final double logGamma;
+
+    private long[] counts = new long[0];
+    private int minIndex;
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+    }
+
+    public void add(double value) {
+        // Checked before any state changes: NaN would poison min and max, and infinity has no bucket
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Value must be finite: " + value);
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value <= 0) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureCovers(index);
+        counts[index - minIndex]++;
+    }
+
+    // Adds all values seen by another sketch with the same relative accuracy
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                ensureCovers(other.minIndex + i);
+                counts[other.minIndex + i - minIndex] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @param quantile Between 0 and 1, e.g. 0.95 for P95
+     * @return An estimate within the relative accuracy of the true quantile, or NaN if empty
+     */
+    public double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // Midpoint of the bucket in relative terms, clamped to the observed range
+                double estimate = 2 * Math.exp((minIndex + i) * logGamma) / (1 + Math.exp(logGamma));
+                return Math.min(max, Math.max(min, estimate));
+            }
+        }
+        return max;
+    }
+
+    private void ensureCovers(int index) {
+        if (counts.length == 0) {
+            counts = new long[64];
+            minIndex = index - 32;
+        }
+        if (index < minIndex) {
+            int grow = Math.max(minIndex - index, counts.length / 2);
+            long[] grown = new long[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            minIndex -= grow;
+        } else if (index >= minIndex + counts.length) {
+            int needed = index - minIndex + 1;
+            counts = Arrays.copyOf(counts, Math.max(needed, counts.length + counts.length / 2));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchConversionExample {
+    private static final int FILES = 200;
+    private static final int FILE_SIZE = 4 << 20;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path sourceDirectory = Files.createTempDirectory("word-documents");
+        Path targetDirectory = Files.createTempDirectory("pdf-documents");
+        try {
+            List<Path> sources = createSources(sourceDirectory);
+            DocumentFactoryRegistry registry = DocumentFactoryRegistry.load();
+
+            for (BatchConverter.Completion completion : BatchConverter.Completion.values()) {
+                try (BatchConverter converter = new BatchConverter(registry, new PdfDocumentFactory())) {
+                    long start = System.nanoTime();
+                    List<BatchConverter.Result> results = converter.convertAll(sources, targetDirectory, completion, null);
+                    long elapsed = System.nanoTime() - start;
+
+                    long failed = results.stream().filter(result -> !result.isSuccess()).count();
+                    System.out.printf("%s: converted %d Word files to PDF in %.0f ms (%d failed)%n",
+                            completion, results.size() - failed, elapsed / 1e6, failed);
+                    for (BatchConverter.StageMetrics stage : new BatchConverter.StageMetrics[] {
+                            converter.readMetrics(), converter.convertMetrics(), converter.writeMetrics()}) {
+                        System.out.printf("  %s  %8d MB moved  %8.0f MB/s%n", stage, stage.bytes() >> 20,
+                                stage.megabytesPerSecond());
+                    }
+                }
+            }
+            checkFailures(registry, sources.subList(0, 8), targetDirectory);
+        } finally {
+            deleteDirectory(sourceDirectory);
+            deleteDirectory(targetDirectory);
+        }
+    }
+
+    /**
+     * Runs a small batch with a listener and a conversion that both throw, through only two slots:
+     * a leaked slot would make convertAll hang, a leaked spool file would stay in the temp directory.
+     */
+    private static void checkFailures(DocumentFactoryRegistry registry, List<Path> sources, Path targetDirectory)
+            throws InterruptedException {
+        BatchConverter.Conversion failing = (source, target) -> {
+            throw new IllegalStateException("conversion failed");
+        };
+        for (BatchConverter.Conversion conversion : new BatchConverter.Conversion[] {BatchConverter.COPY, failing}) {
+            for (BatchConverter.Completion completion : BatchConverter.Completion.values()) {
+                try (BatchConverter converter = new BatchConverter(registry, new PdfDocumentFactory(), conversion,
+                        2, 1, 2)) {
+                    AtomicInteger delivered = new AtomicInteger();
+                    try {
+                        converter.convertAll(sources, targetDirectory, completion, result -> {
+                            delivered.incrementAndGet();
+                            throw new IllegalStateException("listener failed");
+                        });
+                        throw new AssertionError("The listener's exception was not rethrown");
+                    } catch (IllegalStateException e) {
+                        if (delivered.get() != sources.size()) {
+                            throw new AssertionError("Delivered " + delivered + " of " + sources.size() + " results");
+                        }
+                    }
+                }
+            }
+        }
+        System.out.println("A failing listener or conversion did not stop the batch.");
+    }
+
+    private static List<Path> createSources(Path directory) throws IOException {
+        ByteBuffer content = ByteBuffer.allocateDirect(FILE_SIZE);
+        while (content.hasRemaining()) {
+            content.put((byte) ('a' + content.position() % 26));
+        }
+        List<Path> sources = new ArrayList<>();
+        for (int i = 0; i < FILES; i++) {
+            Path file = directory.resolve(String.format("document-%03d.docx", i));
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                content.rewind();
+                while (content.hasRemaining()) {
+                    out.write(content);
+                }
+            }
+            sources.add(file);
+        }
+        return sources;
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,437 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Converts many documents in parallel, e.g. every Word file in a directory to PDF.
+ *
+ * Each file goes through three stages: read (open the source document from its file),
+ * convert (build the target document) and write (save it to the target file). Read and
+ * write are I/O-bound and run on their own pool with many threads, so that enough
+ * requests are outstanding to keep the disk busy; convert is CPU-bound and runs on a
+ * pool with one thread per core. At most maxInFlight files are between the first and the
+ * last stage at any time: submitting more blocks the caller (backpressure), so memory
+ * and open files stay bounded however many files there are.
+ *
+ * Documents that are ChannelDocuments are not copied between the stages: read opens the
+ * source file in place, and convert writes the target document straight into the target
+ * file, so with COPY every byte is moved once, by a file-to-file transfer, and write has
+ * nothing left to do. Other documents are read from and saved to the files through channels.
+ *
+ * Results are reported either in input order or as soon as each file is done.
+ * Every stage records how many files and bytes it processed and how long it took.
+ */
+public class BatchConverter implements Closeable {
+    public enum Completion {
+        // Results are reported in the order of the source list
+        ORDERED,
+        // Results are reported as soon as each file is done
+        UNORDERED
+    }
+
+    // Turns an opened source document into the (empty) target document
+    public interface Conversion {
+        void convert(Document source, Document target) throws IOException;
+    }
+
+    // Default conversion: copies the content as is
+    public static final Conversion COPY = (source, target) -> ((ChannelDocument) target).copyFrom((ChannelDocument) source);
+
+    public static final int DEFAULT_IO_THREADS = 16;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    private final DocumentFactoryRegistry registry;
+    private final DocumentFactory targetFactory;
+    private final Conversion conversion;
+    private final int maxInFlight;
+    // On Java 21+ this could be Executors.newVirtualThreadPerTaskExecutor()
+    private final ExecutorService ioPool;
+    private final ExecutorService cpuPool;
+
+    private final StageMetrics readMetrics;
+    private final StageMetrics convertMetrics;
+    private final StageMetrics writeMetrics;
+
+    public BatchConverter(DocumentFactoryRegistry registry, DocumentFactory targetFactory) {
+        this(registry, targetFactory, COPY, DEFAULT_IO_THREADS, Runtime.getRuntime().availableProcessors(),
+                DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * @param registry Picks the factory of each source file from its extension
+     * @param targetFactory Creates the converted documents; its first extension names the target files
+     * @param conversion Fills the target document from the source document
+     * @param ioThreads Threads for the read and write stages
+     * @param cpuThreads Threads for the convert stage
+     * @param maxInFlight Most files being converted at once
+     */
+    public BatchConverter(DocumentFactoryRegistry registry, DocumentFactory targetFactory, Conversion conversion,
+                          int ioThreads, int cpuThreads, int maxInFlight) {
+        if (ioThreads < 1 || cpuThreads < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Thread counts and max in flight must be positive");
+        }
+        if (targetFactory.extensions().length == 0) {
+            throw new IllegalArgumentException("The target factory must report at least one extension");
+        }
+        this.registry = registry;
+        this.targetFactory = targetFactory;
+        this.conversion = conversion;
+        this.maxInFlight = maxInFlight;
+        this.ioPool = Executors.newFixedThreadPool(ioThreads, daemonThreads("convert-io-"));
+        this.cpuPool = Executors.newFixedThreadPool(cpuThreads, daemonThreads("convert-cpu-"));
+        this.readMetrics = new StageMetrics("read", ioThreads);
+        this.convertMetrics = new StageMetrics("convert", cpuThreads);
+        this.writeMetrics = new StageMetrics("write", ioThreads);
+    }
+
+    /**
+     * Converts all files and waits until they are done.
+     * @param sources The files to convert; each needs an extension known to the registry
+     * @param targetDirectory Where the converted files are written (same base name, target extension)
+     * @param completion Whether the listener gets the results in input order or as they finish
+     * @param listener Called once per file, never by two threads at the same time; may be null.
+     *                 If it throws, the remaining files are still converted and delivered, and the
+     *                 first exception it threw is rethrown once the batch is done.
+     * @return One result per source file, in input order
+     */
+    public List<Result> convertAll(List<Path> sources, Path targetDirectory, Completion completion,
+                                   Consumer<Result> listener) throws InterruptedException {
+        int count = sources.size();
+        Result[] results = new Result[count];
+        Semaphore permits = new Semaphore(maxInFlight);
+        CountDownLatch done = new CountDownLatch(count);
+        Delivery delivery = new Delivery(results, completion, listener);
+
+        for (int i = 0; i < count; i++) {
+            // Backpressure: wait for a free slot before starting the next file
+            permits.acquire();
+            int index = i;
+            Path source = sources.get(i);
+            Path target = targetDirectory.resolve(targetName(source));
+            Document[] documents = new Document[2];
+            CompletableFuture
+                    .supplyAsync(() -> documents[0] = read(source), ioPool)
+                    .thenApplyAsync(document -> documents[1] = convert(document, source, target), cpuPool)
+                    .thenApplyAsync(document -> write(document, target), ioPool)
+                    .whenComplete((bytes, error) -> {
+                        // Release the slot even if closing or the listener fails, or convertAll never returns
+                        try {
+                            close(documents);
+                            delivery.complete(index, new Result(source, target, bytes == null ? 0 : bytes, unwrap(error)));
+                        } finally {
+                            permits.release();
+                            done.countDown();
+                        }
+                    });
+        }
+        done.await();
+        delivery.rethrowListenerError();
+        return Arrays.asList(results);
+    }
+
+    public StageMetrics readMetrics() {
+        return readMetrics;
+    }
+
+    public StageMetrics convertMetrics() {
+        return convertMetrics;
+    }
+
+    public StageMetrics writeMetrics() {
+        return writeMetrics;
+    }
+
+    @Override
+    public void close() {
+        ioPool.shutdown();
+        cpuPool.shutdown();
+    }
+
+    private Document read(Path source) {
+        long start = System.nanoTime();
+        Document document = registry.createDocument(source.getFileName().toString());
+        try {
+            if (document instanceof ChannelDocument) {
+                // Read in place: the conversion reads the source file itself, no bytes are moved here
+                ((ChannelDocument) document).open(source);
+                readMetrics.record(System.nanoTime() - start, 0);
+                return document;
+            }
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+                document.open(in);
+                readMetrics.record(System.nanoTime() - start, in.size());
+                return document;
+            }
+        } catch (IOException e) {
+            close(document);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Document convert(Document source, Path sourceFile, Path targetFile) {
+        long start = System.nanoTime();
+        Document target = targetFactory.createDocument();
+        // Writing in place would truncate the source first if both are the same file
+        boolean inPlace = target instanceof ChannelDocument && !isSameFile(sourceFile, targetFile);
+        Path created = null;
+        try {
+            if (inPlace) {
+                ((ChannelDocument) target).create(targetFile);
+                created = targetFile;
+            }
+            conversion.convert(source, target);
+        } catch (IOException e) {
+            discard(target, created);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException | Error e) {
+            discard(target, created);
+            throw e;
+        }
+        // Release the source (its spool file or open source file) now instead of after the write
+        close(source);
+        convertMetrics.record(System.nanoTime() - start, sizeOf(target));
+        return target;
+    }
+
+    private long write(Document document, Path target) {
+        long start = System.nanoTime();
+        if (document instanceof ChannelDocument && target.equals(((ChannelDocument) document).file())) {
+            // Already written in place by the conversion
+            writeMetrics.record(System.nanoTime() - start, 0);
+            return ((ChannelDocument) document).size();
+        }
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            document.save(out);
+            long bytes = out.size();
+            writeMetrics.record(System.nanoTime() - start, bytes);
+            return bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // The exception a stage threw, without the CompletionException and UncheckedIOException wrappers
+    private static Throwable unwrap(Throwable error) {
+        while (error != null && error.getCause() != null
+                && (error instanceof CompletionException || error instanceof UncheckedIOException)) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private String targetName(Path source) {
+        String name = source.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return (dot > 0 ? name.substring(0, dot) : name) + "." + targetFactory.extensions()[0];
+    }
+
+    // The target is not in documents[] yet, so nobody else would delete its spool file or partial output
+    private static void discard(Document target, Path createdFile) {
+        close(target);
+        if (createdFile != null) {
+            try {
+                Files.deleteIfExists(createdFile);
+            } catch (IOException e) {
+                // Only a partial file is left behind; its Result reports the failure
+            }
+        }
+    }
+
+    private static boolean isSameFile(Path source, Path target) {
+        try {
+            return Files.exists(target) && Files.isSameFile(source, target);
+        } catch (IOException e) {
+            // When in doubt, go through a temporary file
+            return true;
+        }
+    }
+
+    private static long sizeOf(Document document) {
+        return document instanceof ChannelDocument ? ((ChannelDocument) document).size() : 0;
+    }
+
+    private static void close(Document... documents) {
+        for (Document document : documents) {
+            if (document instanceof Closeable) {
+                try {
+                    ((Closeable) document).close();
+                } catch (IOException e) {
+                    // Only a temporary file is left behind
+                }
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger number = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static class Result {
+        private final Path source;
+        private final Path target;
+        private final long bytes;
+        private final Throwable error;
+
+        Result(Path source, Path target, long bytes, Throwable error) {
+            this.source = source;
+            this.target = target;
+            this.bytes = bytes;
+            this.error = error;
+        }
+
+        public Path getSource() {
+            return source;
+        }
+
+        public Path getTarget() {
+            return target;
+        }
+
+        // Size of the written file
+        public long getBytes() {
+            return bytes;
+        }
+
+        // Why the conversion failed, or null if it succeeded
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    // Files, bytes moved and time of one stage, summed over all threads
+    public static class StageMetrics {
+        private final String name;
+        // Threads that can run this stage at once
+        private final int threads;
+        private final LongAdder files = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        StageMetrics(String name, int threads) {
+            this.name = name;
+            this.threads = threads;
+        }
+
+        void record(long elapsedNanos, long processedBytes) {
+            files.increment();
+            bytes.add(processedBytes);
+            nanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long files() {
+            return files.sum();
+        }
+
+        public long bytes() {
+            return bytes.sum();
+        }
+
+        // Average time one file spent in this stage
+        public double averageMillis() {
+            long files = files();
+            return files == 0 ? 0.0 : nanos.sum() / 1e6 / files;
+        }
+
+        public double maxMillis() {
+            return maxNanos.get() / 1e6;
+        }
+
+        /**
+         * Throughput of this stage while it was busy: its bytes over its own time, with its
+         * threads working in parallel. Each stage is measured separately, so a stage that is
+         * much slower than the others is the bottleneck of the batch.
+         */
+        public double megabytesPerSecond() {
+            long nanos = this.nanos.sum();
+            return nanos == 0 ? 0.0 : bytes() / (nanos / 1e9 / threads) / (1 << 20);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %6d files  avg %8.2f ms  max %8.2f ms", name, files(), averageMillis(), maxMillis());
+        }
+    }
+
+    // Hands results to the listener in the requested order, one at a time
+    private static class Delivery {
+        private final Result[] results;
+        private final Completion completion;
+        private final Consumer<Result> listener;
+        private int next;
+        // First exception thrown by the listener
+        private RuntimeException listenerError;
+
+        Delivery(Result[] results, Completion completion, Consumer<Result> listener) {
+            this.results = results;
+            this.completion = completion;
+            this.listener = listener;
+        }
+
+        synchronized void complete(int index, Result result) {
+            results[index] = result;
+            if (listener == null) {
+                return;
+            }
+            if (completion == Completion.UNORDERED) {
+                deliver(result);
+                return;
+            }
+            // Ordered: release every result that is now next in line
+            while (next < results.length && results[next] != null) {
+                deliver(results[next++]);
+            }
+        }
+
+        synchronized void rethrowListenerError() {
+            if (listenerError != null) {
+                throw listenerError;
+            }
+        }
+
+        // A failing listener must not keep the other results from being delivered
+        private void deliver(Result result) {
+            try {
+                listener.accept(result);
+            } catch (RuntimeException e) {
+                if (listenerError == null) {
+                    listenerError = e;
+                } else {
+                    listenerError.addSuppressed(e);
+                }
+            }
+        }
+    }
+}
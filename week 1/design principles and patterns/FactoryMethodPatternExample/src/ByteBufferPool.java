@@ -0,0 +1,60 @@
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared pool of direct byte buffers for document I/O.
+ *
+ * Direct buffers are expensive to allocate and are only freed by the garbage collector,
+ * so they are reused instead. The channel reads and writes straight from them, without
+ * the extra copy a heap buffer needs. At most maxPooled buffers are kept.
+ */
+public class ByteBufferPool {
+    public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+
+    private static final ByteBufferPool SHARED = new ByteBufferPool(DEFAULT_CHUNK_SIZE, 16);
+
+    private final int chunkSize;
+    private final int maxPooled;
+    private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    public ByteBufferPool(int chunkSize, int maxPooled) {
+        if (chunkSize < 1 || maxPooled < 0) {
+            throw new IllegalArgumentException("Chunk size must be positive and max pooled cannot be negative");
+        }
+        this.chunkSize = chunkSize;
+        this.maxPooled = maxPooled;
+    }
+
+    public static ByteBufferPool shared() {
+        return SHARED;
+    }
+
+    // A cleared buffer of chunkSize bytes; give it back with release() when done
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(chunkSize);
+        }
+        pooled.decrementAndGet();
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        buffer.clear();
+        if (pooled.incrementAndGet() <= maxPooled) {
+            buffers.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    public int pooledCount() {
+        return pooled.get();
+    }
+}
@@ -0,0 +1,228 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Base class for documents whose content is streamed through NIO channels.
+ *
+ * open(in) spools the content into a temporary file and save(out) streams it back out,
+ * so a multi-GB document never has to fit in memory: the heap holds nothing but this
+ * object, and at most one pooled direct buffer per transfer. Between two file (or socket)
+ * channels the bytes are moved with FileChannel.transferTo, which the OS can do without
+ * copying them through Java at all. The temporary file is created on the first open,
+ * reused after reset() (e.g. when pooled), and deleted by close().
+ *
+ * A document can also work on a file of the caller's instead of a temporary file:
+ * open(Path) reads an existing file in place, and create(Path) makes new content go
+ * straight into the given file. Such files are kept by close() and reset(). Copying one
+ * such document into another is then a single file-to-file transfer.
+ */
+public abstract class ChannelDocument implements Document, Closeable {
+    private final ByteBufferPool buffers;
+
+    private FileChannel content;
+    private long size;
+    // The caller's file behind content, or null when content is a temporary file
+    private Path file;
+    // Whether content is the caller's file opened by open(Path), which is never written to
+    private boolean readOnly;
+
+    protected ChannelDocument() {
+        this(ByteBufferPool.shared());
+    }
+
+    protected ChannelDocument(ByteBufferPool buffers) {
+        this.buffers = buffers;
+    }
+
+    // Name of the document type, e.g. "PDF"
+    protected abstract String typeName();
+
+    @Override
+    public void open() {
+        System.out.println("Opening " + typeName() + " document...");
+    }
+
+    @Override
+    public void save() {
+        System.out.println("Saving " + typeName() + " document...");
+    }
+
+    @Override
+    public void open(ReadableByteChannel in) throws IOException {
+        FileChannel target = content();
+        target.truncate(0);
+        size = 0;
+        if (in instanceof FileChannel) {
+            // Zero-copy: the OS moves the bytes from file to file
+            FileChannel source = (FileChannel) in;
+            long position = source.position();
+            long count = source.size() - position;
+            while (size < count) {
+                long transferred = source.transferTo(position + size, count - size, target);
+                if (transferred == 0) {
+                    // The source was truncated while being read
+                    break;
+                }
+                size += transferred;
+            }
+            source.position(position + size);
+            return;
+        }
+        ByteBuffer buffer = buffers.acquire();
+        try {
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    size += target.write(buffer, size);
+                }
+                buffer.clear();
+            }
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    @Override
+    public void save(WritableByteChannel out) throws IOException {
+        if (size == 0) {
+            return;
+        }
+        if (out instanceof FileChannel || out instanceof SocketChannel) {
+            // Zero-copy (sendfile/copy_file_range where the OS supports it)
+            long written = 0;
+            while (written < size) {
+                long transferred = content.transferTo(written, size - written, out);
+                if (transferred == 0) {
+                    throw new IOException("Could not write document content");
+                }
+                written += transferred;
+            }
+            return;
+        }
+        ByteBuffer buffer = buffers.acquire();
+        try {
+            long position = 0;
+            while (position < size) {
+                buffer.limit((int) Math.min(buffer.capacity(), size - position));
+                if (content.read(buffer, position) < 0) {
+                    throw new IOException("Document content was truncated");
+                }
+                position += buffer.position();
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    /**
+     * Uses an existing file as the content, without copying it. The file is only read;
+     * open(in) or copyFrom() afterwards switch the document back to a temporary file.
+     */
+    public void open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        release();
+        content = channel;
+        size = channel.size();
+        this.file = file;
+        readOnly = true;
+    }
+
+    /**
+     * Creates (or empties) a file and uses it as the content, so that open(in) and copyFrom()
+     * write straight into it instead of into a temporary file that save() copies again.
+     */
+    public void create(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        release();
+        content = channel;
+        size = 0;
+        this.file = file;
+        readOnly = false;
+    }
+
+    // The file given to open(Path) or create(Path), or null if the content is in a temporary file
+    public Path file() {
+        return file;
+    }
+
+    // Replaces the content with a copy of another document's content, file to file (zero-copy)
+    public void copyFrom(ChannelDocument other) throws IOException {
+        FileChannel target = content();
+        target.truncate(0);
+        target.position(0);
+        other.save(target);
+        size = other.size();
+    }
+
+    // Content size in bytes
+    public long size() {
+        return size;
+    }
+
+    // Empties the content but keeps the temporary file for the next open; a caller's file is let go, not emptied
+    @Override
+    public void reset() {
+        if (file != null) {
+            try {
+                release();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        size = 0;
+        if (content != null) {
+            try {
+                content.truncate(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Deletes the temporary file (a caller's file is kept); the document can still be opened again afterwards
+    @Override
+    public void close() throws IOException {
+        release();
+    }
+
+    private void release() throws IOException {
+        size = 0;
+        file = null;
+        readOnly = false;
+        if (content != null) {
+            FileChannel channel = content;
+            content = null;
+            channel.close();
+        }
+    }
+
+    // The channel new content is written to; a file opened by open(Path) is replaced by a temporary file
+    private FileChannel content() throws IOException {
+        if (readOnly) {
+            release();
+        }
+        if (content == null) {
+            Path file = Files.createTempFile(typeName().toLowerCase(Locale.ROOT) + "-document", ".tmp");
+            content = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        }
+        return content;
+    }
+}
@@ -1,4 +1,18 @@
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
 public interface Document {
     void open();
     void save();
-} 
\ No newline at end of file
+
+    // Reads the document's content from the channel until it is exhausted
+    void open(ReadableByteChannel in) throws IOException;
+
+    // Writes the document's content to the channel
+    void save(WritableByteChannel out) throws IOException;
+
+    // Called before a pooled document is handed out again; clears any per-use state
+    default void reset() {
+    }
+}
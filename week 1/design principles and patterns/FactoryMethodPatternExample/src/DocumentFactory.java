@@ -1,3 +1,8 @@
 public abstract class DocumentFactory {
     public abstract Document createDocument();
-} 
\ No newline at end of file
+
+    // File extensions (lower case, without the dot) this factory handles, for DocumentFactoryRegistry
+    public String[] extensions() {
+        return new String[0];
+    }
+}
@@ -0,0 +1,204 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * Picks the document factory for a file extension, e.g. "pdf" or "report.PDF".
+ *
+ * The extensions are stored in a perfect hash table (hash and displace): keys are first
+ * hashed into small buckets, and each bucket gets a displacement seed, searched for when
+ * the registry is built, that sends its keys to slots no other key uses. A lookup hashes
+ * the extension twice, reads one slot and compares one key, so it costs the same for
+ * 3 document types or 300, without reflection, if-chains or allocation.
+ *
+ * With the constructor, each factory is created by its supplier on first use and cached in
+ * its slot for every later lookup. of() and load() register factories that already exist:
+ * ServiceLoader has to instantiate a provider to ask for its extensions().
+ */
+public class DocumentFactoryRegistry {
+    // Displacements tried for one bucket before the table is doubled
+    private static final int MAX_DISPLACEMENT = 1 << 16;
+    // Seed of the bucket hash; displacements start at 0, so this keeps the two hashes independent
+    private static final int BUCKET_SEED = -1;
+
+    private final int[] displacements;
+    private final Entry[] table;
+    private final int mask;
+    private final int size;
+
+    /**
+     * @param suppliers Factory supplier per extension (without the dot, any case)
+     */
+    public DocumentFactoryRegistry(Map<String, ? extends Supplier<? extends DocumentFactory>> suppliers) {
+        Map<String, Supplier<? extends DocumentFactory>> byKey = new LinkedHashMap<>();
+        for (Map.Entry<String, ? extends Supplier<? extends DocumentFactory>> entry : suppliers.entrySet()) {
+            String key = entry.getKey().toLowerCase(Locale.ROOT);
+            if (key.isEmpty() || key.indexOf('.') >= 0) {
+                throw new IllegalArgumentException("Invalid extension: \"" + entry.getKey() + "\"");
+            }
+            if (byKey.put(key, entry.getValue()) != null) {
+                throw new IllegalArgumentException("Extension registered twice: " + key);
+            }
+        }
+        this.size = byKey.size();
+
+        // About two keys per bucket and a table at most half full keep the displacement search short
+        int buckets = Integer.highestOneBit(Math.max(1, size / 2));
+        int capacity = Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1;
+        this.displacements = new int[buckets];
+        Entry[] slots;
+        while ((slots = place(byKey, displacements, capacity)) == null) {
+            capacity <<= 1;
+        }
+        this.table = slots;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Registers the given factories under the extensions they report.
+     * @throws IllegalArgumentException if two factories report the same extension (in any case)
+     */
+    public static DocumentFactoryRegistry of(DocumentFactory... factories) {
+        Map<String, Supplier<DocumentFactory>> suppliers = new LinkedHashMap<>();
+        for (DocumentFactory factory : factories) {
+            for (String extension : factory.extensions()) {
+                if (suppliers.put(extension.toLowerCase(Locale.ROOT), () -> factory) != null) {
+                    throw new IllegalArgumentException("Extension registered twice: " + extension);
+                }
+            }
+        }
+        return new DocumentFactoryRegistry(suppliers);
+    }
+
+    /**
+     * Registers every factory listed in META-INF/services/DocumentFactory on the class path.
+     * Unlike of(), a duplicate extension is not an error, since the providers may come from
+     * independent jars: the first provider listed for an extension wins.
+     */
+    public static DocumentFactoryRegistry load() {
+        Map<String, Supplier<DocumentFactory>> suppliers = new LinkedHashMap<>();
+        for (DocumentFactory factory : ServiceLoader.load(DocumentFactory.class)) {
+            for (String extension : factory.extensions()) {
+                suppliers.putIfAbsent(extension.toLowerCase(Locale.ROOT), () -> factory);
+            }
+        }
+        return new DocumentFactoryRegistry(suppliers);
+    }
+
+    /**
+     * @param fileName A file name or path ("docs/report.pdf") or a bare extension ("pdf", ".pdf")
+     * @return The factory for its extension (case-insensitive), or null if none is registered
+     */
+    public DocumentFactory factoryFor(String fileName) {
+        int start = fileName.lastIndexOf('.') + 1;
+        int displacement = displacements[hash(fileName, start, BUCKET_SEED) & (displacements.length - 1)];
+        Entry entry = table[hash(fileName, start, displacement) & mask];
+        if (entry == null || !entry.key.regionMatches(true, 0, fileName, start, fileName.length() - start)
+                || entry.key.length() != fileName.length() - start) {
+            return null;
+        }
+        DocumentFactory factory = entry.factory;
+        if (factory == null) {
+            // Two threads may both call the supplier once; either result can be cached
+            factory = entry.supplier.get();
+            entry.factory = factory;
+        }
+        return factory;
+    }
+
+    // Creates a document for the file's extension
+    public Document createDocument(String fileName) {
+        DocumentFactory factory = factoryFor(fileName);
+        if (factory == null) {
+            throw new IllegalArgumentException("No document factory registered for " + fileName);
+        }
+        return factory.createDocument();
+    }
+
+    public boolean supports(String fileName) {
+        return factoryFor(fileName) != null;
+    }
+
+    // Number of registered extensions
+    public int size() {
+        return size;
+    }
+
+    // Fills in the displacement of every bucket, largest bucket first; null if some bucket cannot be placed
+    private static Entry[] place(Map<String, Supplier<? extends DocumentFactory>> byKey, int[] displacements,
+                                 int capacity) {
+        List<List<String>> buckets = new ArrayList<>();
+        for (int b = 0; b < displacements.length; b++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (String key : byKey.keySet()) {
+            buckets.get(hash(key, 0, BUCKET_SEED) & (displacements.length - 1)).add(key);
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int b = 0; b < displacements.length; b++) {
+            order.add(b);
+        }
+        order.sort((a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        Entry[] slots = new Entry[capacity];
+        int[] chosen = new int[0];
+        for (int b : order) {
+            List<String> keys = buckets.get(b);
+            if (chosen.length < keys.size()) {
+                chosen = new int[keys.size()];
+            }
+            int displacement = 0;
+            while (!fits(keys, displacement, slots, chosen)) {
+                if (++displacement == MAX_DISPLACEMENT) {
+                    return null;
+                }
+            }
+            displacements[b] = displacement;
+            for (int i = 0; i < keys.size(); i++) {
+                slots[chosen[i]] = new Entry(keys.get(i), byKey.get(keys.get(i)));
+            }
+        }
+        return slots;
+    }
+
+    // Whether all keys of a bucket land on distinct free slots with this displacement
+    private static boolean fits(List<String> keys, int displacement, Entry[] slots, int[] chosen) {
+        for (int i = 0; i < keys.size(); i++) {
+            int slot = hash(keys.get(i), 0, displacement) & (slots.length - 1);
+            if (slots[slot] != null) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (chosen[j] == slot) {
+                    return false;
+                }
+            }
+            chosen[i] = slot;
+        }
+        return true;
+    }
+
+    // FNV-1a over the lower-cased characters from start, so lookups need no toLowerCase copy
+    private static int hash(String text, int start, int seed) {
+        int h = 0x811c9dc5 ^ seed * 0x9e3779b9;
+        for (int i = start; i < text.length(); i++) {
+            h = (h ^ Character.toLowerCase(text.charAt(i))) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static class Entry {
+        final String key;
+        final Supplier<? extends DocumentFactory> supplier;
+        volatile DocumentFactory factory;
+
+        Entry(String key, Supplier<? extends DocumentFactory> supplier) {
+            this.key = key;
+            this.supplier = supplier;
+        }
+    }
+}
@@ -1,11 +1,6 @@
-public class ExcelDocument implements Document {
+public class ExcelDocument extends ChannelDocument {
     @Override
-    public void open() {
-        System.out.println("Opening Excel document...");
+    protected String typeName() {
+        return "Excel";
     }
-
-    @Override
-    public void save() {
-        System.out.println("Saving Excel document...");
-    }
-} 
\ No newline at end of file
+}
@@ -3,4 +3,9 @@ public class ExcelDocumentFactory extends DocumentFactory {
     public Document createDocument() {
         return new ExcelDocument();
     }
+
+    @Override
+    public String[] extensions() {
+        return new String[] {"xls", "xlsx"};
+    }
 } 
\ No newline at end of file
@@ -1,5 +1,12 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 public class FactoryMethodPatternExample {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         DocumentFactory wordFactory = new WordDocumentFactory();
         Document wordDoc = wordFactory.createDocument();
         wordDoc.open();
@@ -14,5 +21,40 @@ public class FactoryMethodPatternExample {
         Document excelDoc = excelFactory.createDocument();
         excelDoc.open();
         excelDoc.save();
+
+        // Pooled factory: released documents are handed out again instead of creating new ones
+        PooledDocumentFactory pooledFactory = new PooledDocumentFactory(new WordDocumentFactory());
+        for (int i = 0; i < 3; i++) {
+            Document doc = pooledFactory.createDocument();
+            doc.open();
+            doc.save();
+            pooledFactory.release(doc);
+        }
+        System.out.printf("Pool hit rate: %.0f%%, pooled documents: %d%n",
+                pooledFactory.hitRate() * 100, pooledFactory.pooledCount());
+
+        // Registry: the factory is picked from the file extension
+        DocumentFactoryRegistry registry = DocumentFactoryRegistry.load();
+        for (String fileName : new String[] {"notes.docx", "invoice.PDF", "budget.xlsx"}) {
+            Document doc = registry.createDocument(fileName);
+            doc.open();
+            doc.save();
+        }
+
+        // Channel I/O: stream a file into a document and save a copy of it
+        Path source = Files.createTempFile("report", ".pdf");
+        Path copy = Files.createTempFile("report-copy", ".pdf");
+        Files.write(source, "%PDF-1.7 example content".getBytes(StandardCharsets.US_ASCII));
+        ChannelDocument report = (ChannelDocument) registry.createDocument(source.toString());
+        try (FileChannel in = FileChannel.open(source);
+             FileChannel out = FileChannel.open(copy, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            report.open(in);
+            report.save(out);
+        } finally {
+            report.close();
+        }
+        System.out.println("Copied " + report.getClass().getSimpleName() + " of " + Files.size(copy) + " bytes");
+        Files.delete(source);
+        Files.delete(copy);
     }
 } 
\ No newline at end of file
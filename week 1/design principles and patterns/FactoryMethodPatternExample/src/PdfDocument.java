@@ -1,11 +1,6 @@
-public class PdfDocument implements Document {
+public class PdfDocument extends ChannelDocument {
     @Override
-    public void open() {
-        System.out.println("Opening PDF document...");
+    protected String typeName() {
+        return "PDF";
     }
-
-    @Override
-    public void save() {
-        System.out.println("Saving PDF document...");
-    }
-} 
\ No newline at end of file
+}
@@ -3,4 +3,9 @@ public class PdfDocumentFactory extends DocumentFactory {
     public Document createDocument() {
         return new PdfDocument();
     }
+
+    @Override
+    public String[] extensions() {
+        return new String[] {"pdf"};
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,189 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Factory that recycles documents instead of creating a new one for every request.
+ *
+ * Each thread keeps a small stack of released documents of its own, so the common case
+ * of creating and releasing on the same thread needs no synchronization at all. When a
+ * thread's stack is full, released documents go to a shared lock-free (Treiber) stack that
+ * any thread can take from. Only when both are empty is the wrapped factory called.
+ * Reuse through a thread's own stack allocates nothing; each push onto the shared stack
+ * allocates one small node (nodes are never reused, which keeps the stack safe from ABA).
+ *
+ * Usage: createDocument(), open()/save(), then release(document) when it is no longer used.
+ * A document must not be used after it has been released. Only documents of the type the
+ * wrapped factory creates are accepted back, so createDocument() always returns that type.
+ */
+public class PooledDocumentFactory extends DocumentFactory {
+    public static final int DEFAULT_LOCAL_CAPACITY = 32;
+    public static final int DEFAULT_SHARED_CAPACITY = 1024;
+
+    private final DocumentFactory factory;
+    private final int sharedCapacity;
+
+    private final ThreadLocal<LocalPool> localPools;
+    private final AtomicReference<Node> sharedTop = new AtomicReference<>();
+    private final AtomicInteger sharedSize = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder pooled = new LongAdder();
+    // Concrete class of the wrapped factory's documents, known once it has created one
+    private volatile Class<? extends Document> productType;
+
+    public PooledDocumentFactory(DocumentFactory factory) {
+        this(factory, DEFAULT_LOCAL_CAPACITY, DEFAULT_SHARED_CAPACITY);
+    }
+
+    /**
+     * @param factory Creates the documents when the pool is empty
+     * @param localCapacity Released documents each thread keeps for itself
+     * @param sharedCapacity Released documents kept in the shared overflow stack; beyond
+     *                       that they are left to the garbage collector
+     */
+    public PooledDocumentFactory(DocumentFactory factory, int localCapacity, int sharedCapacity) {
+        if (localCapacity < 0 || sharedCapacity < 0) {
+            throw new IllegalArgumentException("Pool capacities cannot be negative");
+        }
+        this.factory = factory;
+        this.sharedCapacity = sharedCapacity;
+        this.localPools = ThreadLocal.withInitial(() -> new LocalPool(localCapacity));
+    }
+
+    // Returns a released document if one is available, otherwise a new one from the wrapped factory
+    @Override
+    public Document createDocument() {
+        Document document = localPools.get().pop();
+        if (document == null) {
+            document = popShared();
+        }
+        if (document == null) {
+            misses.increment();
+            Document created = factory.createDocument();
+            if (productType == null) {
+                productType = created.getClass();
+            }
+            return created;
+        }
+        hits.increment();
+        pooled.decrement();
+        return document;
+    }
+
+    @Override
+    public String[] extensions() {
+        return factory.extensions();
+    }
+
+    /**
+     * Resets the document and keeps it for a later createDocument() call.
+     * @throws IllegalArgumentException if the document is null or not of the type this pool creates
+     */
+    public void release(Document document) {
+        if (document == null) {
+            throw new IllegalArgumentException("Document cannot be null");
+        }
+        Class<? extends Document> type = productType;
+        if (document.getClass() != type) {
+            throw new IllegalArgumentException("Cannot release a " + document.getClass().getName() + " into a pool of "
+                    + (type == null ? "documents it has not created yet" : type.getName()));
+        }
+        document.reset();
+        if (localPools.get().push(document) || pushShared(document)) {
+            pooled.increment();
+        } else {
+            discarded.increment();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    // Share of createDocument() calls served from the pool (0 before the first call)
+    public double hitRate() {
+        long hits = hits();
+        long total = hits + misses();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    // Documents currently waiting in the pool, over all threads
+    public long pooledCount() {
+        return pooled.sum();
+    }
+
+    // Released documents that did not fit in the pool
+    public long discardedCount() {
+        return discarded.sum();
+    }
+
+    private Document popShared() {
+        while (true) {
+            Node top = sharedTop.get();
+            if (top == null) {
+                return null;
+            }
+            if (sharedTop.compareAndSet(top, top.next)) {
+                sharedSize.decrementAndGet();
+                return top.document;
+            }
+        }
+    }
+
+    private boolean pushShared(Document document) {
+        // Reserve room first, so the stack never grows past its capacity
+        if (sharedSize.incrementAndGet() > sharedCapacity) {
+            sharedSize.decrementAndGet();
+            return false;
+        }
+        Node node = new Node(document);
+        do {
+            node.next = sharedTop.get();
+        } while (!sharedTop.compareAndSet(node.next, node));
+        return true;
+    }
+
+    // Nodes are never reused, so a CAS cannot be fooled by a node that was popped and pushed again (ABA)
+    private static class Node {
+        final Document document;
+        Node next;
+
+        Node(Document document) {
+            this.document = document;
+        }
+    }
+
+    // Plain array stack, only ever touched by its own thread
+    private static class LocalPool {
+        private final Document[] documents;
+        private int size;
+
+        LocalPool(int capacity) {
+            this.documents = new Document[capacity];
+        }
+
+        Document pop() {
+            if (size == 0) {
+                return null;
+            }
+            Document document = documents[--size];
+            documents[size] = null;
+            return document;
+        }
+
+        boolean push(Document document) {
+            if (size == documents.length) {
+                return false;
+            }
+            documents[size++] = document;
+            return true;
+        }
+    }
+}
@@ -1,11 +1,6 @@
-public class WordDocument implements Document {
+public class WordDocument extends ChannelDocument {
     @Override
-    public void open() {
-        System.out.println("Opening Word document...");
+    protected String typeName() {
+        return "Word";
     }
-
-    @Override
-    public void save() {
-        System.out.println("Saving Word document...");
-    }
-} 
\ No newline at end of file
+}
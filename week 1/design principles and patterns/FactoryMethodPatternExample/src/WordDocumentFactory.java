@@ -3,4 +3,9 @@ public class WordDocumentFactory extends DocumentFactory {
     public Document createDocument() {
         return new WordDocument();
     }
+
+    @Override
+    public String[] extensions() {
+        return new String[] {"doc", "docx"};
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,30 @@
+import java.nio.ByteBuffer;
+
+// Default sink: writes to System.out (looked up on every write, so System.setOut is respected)
+public class ConsoleSink implements LogSink {
+    @Override
+    public void write(ByteBuffer bytes) {
+        if (bytes.hasArray()) {
+            System.out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            bytes.position(bytes.limit());
+        } else {
+            byte[] chunk = new byte[Math.min(bytes.remaining(), 8192)];
+            while (bytes.hasRemaining()) {
+                int length = Math.min(chunk.length, bytes.remaining());
+                bytes.get(chunk, 0, length);
+                System.out.write(chunk, 0, length);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        System.out.flush();
+    }
+
+    // System.out stays open
+    @Override
+    public void close() {
+        System.out.flush();
+    }
+}
@@ -0,0 +1,16 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Destination of the Logger's encoded output.
+ * The Logger calls these methods from its single writer thread only.
+ */
+public interface LogSink extends Closeable {
+    // Writes all remaining bytes of the buffer (UTF-8 text made of whole lines)
+    void write(ByteBuffer bytes) throws IOException;
+
+    // Called after each batch; makes the written lines visible to readers
+    default void flush() throws IOException {
+    }
+}
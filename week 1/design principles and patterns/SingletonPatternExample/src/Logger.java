@@ -1,21 +1,539 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
 public class Logger {
-    private static Logger instance;
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR
+    }
+
+    // Ring buffer size (a power of two); callers wait when it is full instead of dropping messages
+    private static final int CAPACITY = 1 << 14;
+    private static final int MASK = CAPACITY - 1;
+    // Most messages written to the console in one call
+    private static final int MAX_BATCH = 1024;
+    // Most arguments a pattern can take
+    private static final int MAX_ARGS = 3;
+
+    private static final byte LONG_ARG = 0;
+    private static final byte DOUBLE_ARG = 1;
+    private static final byte OBJECT_ARG = 2;
+
+    // Preallocated multi-producer, single-consumer ring buffer. sequences[i] says whose turn
+    // slot i is: position p may be written when it equals p and read when it equals p + 1.
+    // An event is stored in place across parallel arrays, so logging allocates nothing:
+    // its arguments stay primitive until the writer thread formats them.
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private final Level[] levels = new Level[CAPACITY];
+    private final String[] patterns = new String[CAPACITY];
+    private final byte[] argCounts = new byte[CAPACITY];
+    private final byte[] argTypes = new byte[CAPACITY * MAX_ARGS];
+    private final long[] primitiveArgs = new long[CAPACITY * MAX_ARGS];
+    private final Object[] objectArgs = new Object[CAPACITY * MAX_ARGS];
+    private final AtomicLong tail = new AtomicLong();
+    // Next position to read; only the writer thread moves it, others only read it in flush()
+    private volatile long head;
+
+    private volatile Level threshold = Level.INFO;
+    // Where formatted lines go; only replaced while holding the lock that drain() takes
+    private volatile LogSink sink = new ConsoleSink();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Writer-side buffers, reused for every batch
+    private final StringBuilder text = new StringBuilder(64 * MAX_BATCH);
+    private char[] chars = new char[64 * MAX_BATCH];
+    private final ByteBuffer bytes = ByteBuffer.allocate(1 << 16);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final String lineSeparator = System.lineSeparator();
 
     // Private constructor to prevent instantiation
     private Logger() {
-        // Optional: Initialize resources
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+        writer = new Thread(this::writeLoop, "logger-writer");
+        writer.setDaemon(true);
+        writer.start();
+        // Write out whatever is still queued when the program exits
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "logger-shutdown"));
+    }
+
+    // Holder idiom: the JVM initializes Holder once, on first use, and safely publishes INSTANCE
+    private static class Holder {
+        static final Logger INSTANCE = new Logger();
     }
 
     // Public method to provide access to the instance
     public static Logger getInstance() {
-        if (instance == null) {
-            instance = new Logger();
+        return Holder.INSTANCE;
+    }
+
+    // Messages below this level are discarded before anything is queued
+    public void setLevel(Level level) {
+        threshold = level;
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    /**
+     * Sends all further output to another sink, e.g. a MappedFileSink.
+     * Messages logged before this call are written to the old sink first.
+     * @return The previous sink, which the caller may now close
+     */
+    public LogSink setSink(LogSink newSink) {
+        flush();
+        synchronized (this) {
+            LogSink previous = sink;
+            sink = newSink;
+            return previous;
         }
-        return instance;
     }
 
-    // Example logging method
+    // Example logging method; queues the message at INFO level and returns without waiting for console I/O
     public void log(String message) {
-        System.out.println("LOG: " + message);
+        log(Level.INFO, message);
+    }
+
+    /*
+     * Parameterized logging: each "{}" in the pattern is replaced by the next argument when
+     * the message is written. Fixed overloads are used instead of varargs so that primitive
+     * arguments are neither boxed nor collected into an array: a disabled call allocates
+     * nothing, and an enabled call only copies its arguments into the ring buffer.
+     * There is an overload for every mix of long, double and Object with one or two
+     * arguments, and of long and double with three, so a primitive keeps its type (an int
+     * next to a double is logged as a long, not widened to a double or boxed).
+     * Object arguments are turned into text later, on the writer thread, so they should not
+     * be changed after being logged.
+     */
+
+    public void log(Level level, String message) {
+        if (isEnabled(level)) {
+            int slot = claim(level, message, 0);
+            if (slot >= 0) {
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, long arg) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 1);
+            if (slot >= 0) {
+                setLong(slot, 0, arg);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, double arg) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 1);
+            if (slot >= 0) {
+                setDouble(slot, 0, arg);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, Object arg) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 1);
+            if (slot >= 0) {
+                setObject(slot, 0, arg);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, long arg1, long arg2) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 2);
+            if (slot >= 0) {
+                setLong(slot, 0, arg1);
+                setLong(slot, 1, arg2);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, long arg1, double arg2) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 2);
+            if (slot >= 0) {
+                setLong(slot, 0, arg1);
+                setDouble(slot, 1, arg2);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, long arg1, Object arg2) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 2);
+            if (slot >= 0) {
+                setLong(slot, 0, arg1);
+                setObject(slot, 1, arg2);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, double arg1, long arg2) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 2);
+            if (slot >= 0) {
+                setDouble(slot, 0, arg1);
+                setLong(slot, 1, arg2);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, double arg1, double arg2) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 2);
+            if (slot >= 0) {
+                setDouble(slot, 0, arg1);
+                setDouble(slot, 1, arg2);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, double arg1, Object arg2) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 2);
+            if (slot >= 0) {
+                setDouble(slot, 0, arg1);
+                setObject(slot, 1, arg2);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, Object arg1, long arg2) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 2);
+            if (slot >= 0) {
+                setObject(slot, 0, arg1);
+                setLong(slot, 1, arg2);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, Object arg1, double arg2) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 2);
+            if (slot >= 0) {
+                setObject(slot, 0, arg1);
+                setDouble(slot, 1, arg2);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 2);
+            if (slot >= 0) {
+                setObject(slot, 0, arg1);
+                setObject(slot, 1, arg2);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, long arg1, long arg2, long arg3) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 3);
+            if (slot >= 0) {
+                setLong(slot, 0, arg1);
+                setLong(slot, 1, arg2);
+                setLong(slot, 2, arg3);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, long arg1, long arg2, double arg3) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 3);
+            if (slot >= 0) {
+                setLong(slot, 0, arg1);
+                setLong(slot, 1, arg2);
+                setDouble(slot, 2, arg3);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, long arg1, double arg2, long arg3) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 3);
+            if (slot >= 0) {
+                setLong(slot, 0, arg1);
+                setDouble(slot, 1, arg2);
+                setLong(slot, 2, arg3);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, long arg1, double arg2, double arg3) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 3);
+            if (slot >= 0) {
+                setLong(slot, 0, arg1);
+                setDouble(slot, 1, arg2);
+                setDouble(slot, 2, arg3);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, double arg1, long arg2, long arg3) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 3);
+            if (slot >= 0) {
+                setDouble(slot, 0, arg1);
+                setLong(slot, 1, arg2);
+                setLong(slot, 2, arg3);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, double arg1, long arg2, double arg3) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 3);
+            if (slot >= 0) {
+                setDouble(slot, 0, arg1);
+                setLong(slot, 1, arg2);
+                setDouble(slot, 2, arg3);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, double arg1, double arg2, long arg3) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 3);
+            if (slot >= 0) {
+                setDouble(slot, 0, arg1);
+                setDouble(slot, 1, arg2);
+                setLong(slot, 2, arg3);
+                publish(slot);
+            }
+        }
+    }
+
+    public void log(Level level, String pattern, double arg1, double arg2, double arg3) {
+        if (isEnabled(level)) {
+            int slot = claim(level, pattern, 3);
+            if (slot >= 0) {
+                setDouble(slot, 0, arg1);
+                setDouble(slot, 1, arg2);
+                setDouble(slot, 2, arg3);
+                publish(slot);
+            }
+        }
+    }
+
+    // Waits until every message logged before this call has been written
+    public void flush() {
+        long target = tail.get();
+        while (head < target && writer.isAlive()) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+    }
+
+    // Reserves the next slot and fills in the fixed part of the event; -1 if the logger has shut down
+    private int claim(Level level, String pattern, int argCount) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & MASK;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    levels[slot] = level;
+                    patterns[slot] = pattern;
+                    argCounts[slot] = (byte) argCount;
+                    return slot;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                if (!running) {
+                    // Shutting down and full: nobody will drain the queue any more
+                    return -1;
+                }
+                // Full: give the writer a chance to catch up
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+                position = tail.get();
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    // Hands a filled slot to the writer thread
+    private void publish(int slot) {
+        sequences.lazySet(slot, sequences.get(slot) + 1);
+    }
+
+    private void setLong(int slot, int index, long value) {
+        argTypes[slot * MAX_ARGS + index] = LONG_ARG;
+        primitiveArgs[slot * MAX_ARGS + index] = value;
+    }
+
+    private void setDouble(int slot, int index, double value) {
+        argTypes[slot * MAX_ARGS + index] = DOUBLE_ARG;
+        primitiveArgs[slot * MAX_ARGS + index] = Double.doubleToRawLongBits(value);
+    }
+
+    private void setObject(int slot, int index, Object value) {
+        argTypes[slot * MAX_ARGS + index] = OBJECT_ARG;
+        objectArgs[slot * MAX_ARGS + index] = value;
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            }
+        }
+    }
+
+    // Formats up to MAX_BATCH queued events and writes them to the sink in one go
+    private synchronized int drain() {
+        long position = head;
+        int count = 0;
+        while (count < MAX_BATCH) {
+            int slot = (int) position & MASK;
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            int mark = text.length();
+            try {
+                format(slot);
+            } catch (RuntimeException e) {
+                // E.g. an argument whose toString() throws: report and skip this message only,
+                // so one bad record never stops the writer thread
+                text.setLength(mark);
+                System.err.println("Logger could not format a message: " + e);
+            } finally {
+                patterns[slot] = null;
+                for (int i = 0; i < MAX_ARGS; i++) {
+                    objectArgs[slot * MAX_ARGS + i] = null;
+                }
+                sequences.lazySet(slot, position + CAPACITY);
+            }
+            position++;
+            count++;
+        }
+        if (count > 0) {
+            write();
+            head = position;
+        }
+        return count;
+    }
+
+    private void format(int slot) {
+        Level level = levels[slot];
+        if (level == Level.INFO) {
+            text.append("LOG: ");
+        } else {
+            text.append("LOG [").append(level.name()).append("]: ");
+        }
+        // A null message is written as "null", like println does
+        String pattern = String.valueOf(patterns[slot]);
+        int argCount = argCounts[slot];
+        int arg = 0;
+        int start = 0;
+        int placeholder;
+        while (arg < argCount && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+            text.append(pattern, start, placeholder);
+            int index = slot * MAX_ARGS + arg++;
+            switch (argTypes[index]) {
+                case LONG_ARG:
+                    text.append(primitiveArgs[index]);
+                    break;
+                case DOUBLE_ARG:
+                    text.append(Double.longBitsToDouble(primitiveArgs[index]));
+                    break;
+                default:
+                    text.append(objectArgs[index]);
+            }
+            start = placeholder + 2;
+        }
+        text.append(pattern, start, pattern.length()).append(lineSeparator);
+    }
+
+    // Encodes the formatted text straight into the reusable byte buffer and writes it to the sink
+    private void write() {
+        int length = text.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        text.getChars(0, length, chars, 0);
+        text.setLength(0);
+        CharBuffer input = CharBuffer.wrap(chars, 0, length);
+        encoder.reset();
+        CoderResult result;
+        do {
+            result = encoder.encode(input, bytes, true);
+            if (result.isOverflow() || !input.hasRemaining()) {
+                writeBytes();
+            }
+        } while (result.isOverflow());
+        encoder.flush(bytes);
+        writeBytes();
+        try {
+            sink.flush();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Logger could not flush its output: " + e);
+        }
+    }
+
+    private void writeBytes() {
+        if (bytes.position() > 0) {
+            bytes.flip();
+            try {
+                sink.write(bytes);
+            } catch (IOException | RuntimeException e) {
+                // Never let a failing sink stop the writer thread; the batch is lost
+                System.err.println("Logger could not write its output: " + e);
+            } finally {
+                bytes.clear();
+            }
+        }
+    }
+
+    private void shutdown() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (drain() > 0) {
+            // Keep writing until the queue is empty
+        }
+        try {
+            sink.close();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Logger could not close its output: " + e);
+        }
     }
-} 
\ No newline at end of file
+}
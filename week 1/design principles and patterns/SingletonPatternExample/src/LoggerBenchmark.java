@@ -0,0 +1,60 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+
+public class LoggerBenchmark {
+    private static final int MESSAGES_PER_RUN = 2_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        Logger logger = Logger.getInstance();
+        PrintStream console = System.out;
+        // Discard the log output so the benchmark measures the logger, not the terminal
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+
+        StringBuilder report = new StringBuilder(String.format("%-10s %18s%n", "threads", "messages/s"));
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            // Warm-up run, then a measured run
+            run(logger, threads);
+            double perSecond = run(logger, threads);
+            report.append(String.format("%-10d %18.0f%n", threads, perSecond));
+        }
+
+        System.setOut(console);
+        System.out.print(report);
+    }
+
+    private static double run(Logger logger, int threads) throws InterruptedException {
+        int perThread = MESSAGES_PER_RUN / threads;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    logger.log("benchmark message");
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // Count a message only once it has actually been written
+        logger.flush();
+        return (double) perThread * threads * 1e9 / (System.nanoTime() - begin);
+    }
+}
@@ -1,3 +1,7 @@
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 public class LoggerTest {
     public static void main(String[] args) {
         Logger logger1 = Logger.getInstance();
@@ -13,5 +17,56 @@ public class LoggerTest {
         // Test logging
         logger1.log("This is a test log message.");
         logger2.log("This is another test log message.");
+
+        // Test that a message that cannot be formatted is skipped and later messages still arrive
+        MemorySink memory = new MemorySink();
+        LogSink console = logger1.setSink(memory);
+        logger1.log((String) null);
+        logger1.log(Logger.Level.INFO, "Bad argument: {}", new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("toString failed");
+            }
+        });
+        logger1.log("This message is logged after the bad ones.");
+        // Mixed argument types keep their own type instead of all being widened to double
+        logger1.log(Logger.Level.INFO, "count {} ratio {}", 5L, 0.25);
+        logger1.log(Logger.Level.INFO, "ratio {} count {} of {}", 0.5, 3, 6L);
+        logger1.log(Logger.Level.INFO, "user {} made {} orders", "alice", 7);
+        logger1.flush();
+        logger1.setSink(console);
+        String output = memory.toString();
+        if (output.contains("LOG: null") && output.contains("LOG: This message is logged after the bad ones.")) {
+            System.out.println("Bad messages were skipped and logging continued.");
+        } else {
+            System.out.println("Logging stopped after a bad message!");
+        }
+        if (output.contains("LOG: count 5 ratio 0.25") && output.contains("LOG: ratio 0.5 count 3 of 6")
+                && output.contains("LOG: user alice made 7 orders")) {
+            System.out.println("Mixed long, double and Object arguments kept their types.");
+        } else {
+            System.out.println("Mixed arguments were formatted with the wrong type!");
+        }
+    }
+
+    // Keeps the Logger's output in memory
+    private static class MemorySink implements LogSink {
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        @Override
+        public synchronized void write(ByteBuffer bytes) {
+            while (bytes.hasRemaining()) {
+                output.write(bytes.get());
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public synchronized String toString() {
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
     }
 } 
\ No newline at end of file
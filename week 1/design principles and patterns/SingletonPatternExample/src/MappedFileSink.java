@@ -0,0 +1,283 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Log sink that appends to memory-mapped, fixed-size segment files.
+ *
+ * Segments are named {@code <baseName>-000001.log}, {@code <baseName>-000002.log}, ...
+ * Each one is created at its full size and mapped once, so an append is a memory copy into
+ * the OS page cache, with no system call. A segment is closed (truncated to the bytes
+ * written) and a new one started when the next batch does not fit or when it is older than
+ * the roll interval. Closed segments can be gzipped on a background thread.
+ *
+ * Crash safety: bytes copied into the mapping belong to the OS as soon as they are written,
+ * so they survive the process being killed (call force() to also survive a power loss).
+ * After a crash the last segment still has its full size with a zero-filled tail; on the
+ * next start it is cut back to the end of its last complete line and closed.
+ * Log lines must therefore not contain NUL characters.
+ */
+public class MappedFileSink implements LogSink {
+    public static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+
+    private final Path directory;
+    private final String baseName;
+    private final int segmentSize;
+    private final long rollIntervalMillis;
+    // Compresses closed segments; null when compression is off
+    private final ExecutorService compressor;
+
+    private int segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long segmentStarted;
+
+    public MappedFileSink(Path directory, String baseName) throws IOException {
+        this(directory, baseName, DEFAULT_SEGMENT_SIZE, 0, false);
+    }
+
+    /**
+     * @param directory Where the segments are written; created if missing
+     * @param baseName Prefix of the segment file names
+     * @param segmentSize Maximum size of a segment in bytes (at most 2 GB)
+     * @param rollIntervalMillis Start a new segment after this long; 0 to roll by size only
+     * @param compress Whether closed segments are gzipped (and the .log file deleted)
+     */
+    public MappedFileSink(Path directory, String baseName, long segmentSize, long rollIntervalMillis,
+                          boolean compress) throws IOException {
+        if (segmentSize < 1 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between 1 byte and 2 GB");
+        }
+        if (rollIntervalMillis < 0) {
+            throw new IllegalArgumentException("Roll interval cannot be negative");
+        }
+        this.directory = directory;
+        this.baseName = baseName;
+        this.segmentSize = (int) segmentSize;
+        this.rollIntervalMillis = rollIntervalMillis;
+        this.compressor = compress ? Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "log-compressor");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        Files.createDirectories(directory);
+        segmentIndex = recover();
+        openSegment();
+    }
+
+    @Override
+    public synchronized void write(ByteBuffer bytes) throws IOException {
+        if (mapped == null) {
+            throw new IOException("Log sink is closed");
+        }
+        if (rollIntervalMillis > 0 && mapped.position() > 0
+                && System.currentTimeMillis() - segmentStarted >= rollIntervalMillis) {
+            roll();
+        }
+        // Keep a batch in one segment when it fits; only batches larger than a segment are split
+        if (bytes.remaining() > mapped.remaining() && mapped.position() > 0) {
+            roll();
+        }
+        while (bytes.remaining() > mapped.remaining()) {
+            int limit = bytes.limit();
+            bytes.limit(bytes.position() + mapped.remaining());
+            mapped.put(bytes);
+            bytes.limit(limit);
+            roll();
+        }
+        mapped.put(bytes);
+    }
+
+    // Writes the current segment's dirty pages to the storage device
+    public synchronized void force() {
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+    public synchronized Path currentSegment() {
+        return segmentPath(segmentIndex);
+    }
+
+    // Closes the current segment and waits for pending compression to finish
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (mapped == null) {
+                return;
+            }
+            closeSegment();
+        }
+        if (compressor != null) {
+            compressor.shutdown();
+            try {
+                compressor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        closeSegment();
+        segmentIndex++;
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(segmentPath(segmentIndex), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentStarted = System.currentTimeMillis();
+    }
+
+    private void closeSegment() throws IOException {
+        MappedByteBuffer buffer = mapped;
+        int length = buffer.position();
+        buffer.force();
+        // Truncating a file while a mapping of it is live is unspecified (a later access can
+        // crash the JVM with SIGBUS, and Windows refuses the truncate). Drop the only reference
+        // and release the mapping before the file is touched.
+        mapped = null;
+        unmap(buffer);
+        try {
+            channel.truncate(length);
+        } catch (IOException e) {
+            // E.g. Windows while the mapping could not be released: keep the zero-filled tail,
+            // which readers and recover() skip like the tail of a crashed segment
+            System.err.println("Could not truncate " + segmentPath(segmentIndex) + ": " + e);
+        } finally {
+            channel.close();
+        }
+        compress(segmentPath(segmentIndex));
+    }
+
+    // Cuts a crashed segment back to its last complete line; returns the index for the next segment
+    private int recover() throws IOException {
+        int last = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, baseName + "-*.log*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String number = name.substring(baseName.length() + 1, name.indexOf(".log", baseName.length()));
+                try {
+                    last = Math.max(last, Integer.parseInt(number));
+                } catch (NumberFormatException e) {
+                    // Not one of our segments
+                }
+            }
+        }
+        Path segment = segmentPath(last);
+        if (last > 0 && Files.exists(segment)) {
+            // Read with plain channel reads rather than a mapping, so the truncate below never
+            // happens under a live mapping
+            try (FileChannel file = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long end = file.size();
+                ByteBuffer chunk = ByteBuffer.allocate(1 << 16);
+                boolean inZeroTail = true;
+                boolean foundLineEnd = false;
+                while (end > 0 && !foundLineEnd) {
+                    int length = (int) Math.min(chunk.capacity(), end);
+                    chunk.clear().limit(length);
+                    long start = end - length;
+                    while (chunk.hasRemaining() && file.read(chunk, start + chunk.position()) >= 0) {
+                        // Read the whole chunk
+                    }
+                    int i = chunk.position();
+                    while (i > 0) {
+                        byte b = chunk.get(i - 1);
+                        if (inZeroTail && b == 0) {
+                            i--;
+                        } else if (b != '\n') {
+                            inZeroTail = false;
+                            i--;
+                        } else {
+                            foundLineEnd = true;
+                            break;
+                        }
+                    }
+                    end = start + i;
+                }
+                file.truncate(end);
+            }
+            compress(segment);
+        }
+        return last + 1;
+    }
+
+    private void compress(Path segment) {
+        if (compressor == null) {
+            return;
+        }
+        compressor.execute(() -> {
+            Path target = segment.resolveSibling(segment.getFileName() + ".gz");
+            try (InputStream in = Files.newInputStream(segment);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(target), 1 << 16)) {
+                byte[] chunk = new byte[1 << 16];
+                int read;
+                while ((read = in.read(chunk)) > 0) {
+                    out.write(chunk, 0, read);
+                }
+            } catch (IOException e) {
+                // Keep the uncompressed segment
+                System.err.println("Could not compress " + segment + ": " + e);
+                return;
+            }
+            try {
+                Files.delete(segment);
+            } catch (IOException e) {
+                System.err.println("Could not delete " + segment + " after compressing it: " + e);
+            }
+        });
+    }
+
+    /*
+     * Releases a segment's mapping right away instead of whenever the GC frees the buffer.
+     * The sink needs this because every segment is mapped at its full size and then truncated:
+     * truncating under a live mapping is not safe, and each rolled segment would otherwise keep
+     * its mapping until the next GC. Java 8 has no public API for it, so this goes through
+     * Unsafe.invokeCleaner (Java 9+) or the buffer's cleaner (Java 8), and leaves the mapping
+     * to the GC if neither is accessible.
+     *
+     * Touching the buffer after this crashes the JVM. That cannot happen here: the only caller
+     * is closeSegment(), which runs under the sink's lock, and the only reference to the buffer
+     * (the mapped field) is cleared before the call, so no write can reach it afterwards.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner;
+            try {
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (NoSuchMethodException e) {
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+                return;
+            }
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not available on this JVM
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s-%06d.log", baseName, index));
+    }
+}
@@ -0,0 +1,100 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Measures MappedFileSink throughput: raw 64 KB appends, and messages logged through the Logger.
+ * Each measurement is repeated after warmup rounds and the median is reported, with the JVM
+ * and processor count, since the result depends heavily on the machine and its page cache.
+ */
+public class MappedFileSinkBenchmark {
+    private static final long TOTAL_BYTES = 1L << 30;
+    private static final int MESSAGES = 2_000_000;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("Java %s, %d processors; median of %d rounds after %d warmup rounds%n",
+                System.getProperty("java.version"), Runtime.getRuntime().availableProcessors(), ROUNDS, WARMUP_ROUNDS);
+
+        // Raw sink throughput: 64 KB batches of 100-byte lines, as the Logger writes them
+        byte[] line = new byte[100];
+        Arrays.fill(line, (byte) 'x');
+        line[line.length - 1] = '\n';
+        ByteBuffer batch = ByteBuffer.allocate(64 * 1024 / line.length * line.length);
+        while (batch.remaining() >= line.length) {
+            batch.put(line);
+        }
+        batch.flip();
+
+        double[] megabytesPerSecond = new double[ROUNDS];
+        for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+            Path directory = Files.createTempDirectory("logger-benchmark");
+            try {
+                long begin = System.nanoTime();
+                try (MappedFileSink sink = new MappedFileSink(directory, "raw", 256L << 20, 0, false)) {
+                    for (long written = 0; written < TOTAL_BYTES; written += batch.limit()) {
+                        sink.write(batch);
+                        batch.rewind();
+                    }
+                }
+                double seconds = (System.nanoTime() - begin) / 1e9;
+                if (round >= 0) {
+                    megabytesPerSecond[round] = TOTAL_BYTES / seconds / (1 << 20);
+                }
+            } finally {
+                deleteAll(directory);
+            }
+        }
+        System.out.printf("sink appends:   %8.0f MB/s%n", median(megabytesPerSecond));
+
+        // End to end through the Logger
+        Logger logger = Logger.getInstance();
+        double[] messagesPerSecond = new double[ROUNDS];
+        megabytesPerSecond = new double[ROUNDS];
+        for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+            Path directory = Files.createTempDirectory("logger-benchmark");
+            try {
+                LogSink console = logger.setSink(new MappedFileSink(directory, "logger"));
+                long begin = System.nanoTime();
+                for (int i = 0; i < MESSAGES; i++) {
+                    logger.log(Logger.Level.INFO, "order {} shipped in {} ms", i, i % 100);
+                }
+                logger.flush();
+                double seconds = (System.nanoTime() - begin) / 1e9;
+                logger.setSink(console).close();
+                long bytes = 0;
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "logger-*")) {
+                    for (Path file : files) {
+                        bytes += Files.size(file);
+                    }
+                }
+                if (round >= 0) {
+                    messagesPerSecond[round] = MESSAGES / seconds;
+                    megabytesPerSecond[round] = bytes / seconds / (1 << 20);
+                }
+            } finally {
+                deleteAll(directory);
+            }
+        }
+        System.out.printf("Logger to file: %8.0f messages/s, %.0f MB/s%n", median(messagesPerSecond), median(megabytesPerSecond));
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static void deleteAll(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing the batch (array) operations of Calculator with a loop of scalar calls.
+ * Scores are nanoseconds per row. Built only with the jmh profile; see the README for how to run it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculatorBatchBenchmark {
+
+    private static final int ROWS = 10_000_000;
+
+    private final Calculator calculator = new Calculator();
+    private int[] a;
+    private int[] b;
+    private long[] la;
+    private long[] lb;
+    private int[] out;
+    private long[] longOut;
+    private boolean[] overflowed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        a = new int[ROWS];
+        b = new int[ROWS];
+        la = new long[ROWS];
+        lb = new long[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            a[i] = random.nextInt();
+            b[i] = random.nextInt();
+            la[i] = random.nextLong();
+            lb[i] = random.nextLong();
+        }
+        out = new int[ROWS];
+        longOut = new long[ROWS];
+        overflowed = new boolean[ROWS];
+    }
+
+    // The results are returned so that JMH consumes them and the JIT cannot drop the loops
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] addScalar() {
+        for (int i = 0; i < ROWS; i++) {
+            out[i] = calculator.add(a[i], b[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] addBatch() {
+        calculator.add(a, b, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] multiplyScalar() {
+        for (int i = 0; i < ROWS; i++) {
+            out[i] = calculator.multiply(a[i], b[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] multiplyBatch() {
+        calculator.multiply(a, b, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int addExactScalar() {
+        int count = 0;
+        for (int i = 0; i < ROWS; i++) {
+            try {
+                out[i] = Math.addExact(a[i], b[i]);
+                overflowed[i] = false;
+            } catch (ArithmeticException e) {
+                out[i] = a[i] + b[i];
+                overflowed[i] = true;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int addExactBatch() {
+        return calculator.addExact(a, b, out, overflowed);
+    }
+
+    // Calculator has no scalar long operations, so the scalar loops use + and Math.addExact directly
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long[] longAddScalar() {
+        for (int i = 0; i < ROWS; i++) {
+            longOut[i] = la[i] + lb[i];
+        }
+        return longOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long[] longAddBatch() {
+        calculator.add(la, lb, longOut);
+        return longOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int longAddExactScalar() {
+        int count = 0;
+        for (int i = 0; i < ROWS; i++) {
+            try {
+                longOut[i] = Math.addExact(la[i], lb[i]);
+                overflowed[i] = false;
+            } catch (ArithmeticException e) {
+                longOut[i] = la[i] + lb[i];
+                overflowed[i] = true;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int longAddExactBatch() {
+        return calculator.addExact(la, lb, longOut, overflowed);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CalculatorBatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing FactorialService with the original multiply-in-a-loop factorial.
+ * Built only with the jmh profile; see the README for how to run it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FactorialBenchmark {
+
+    private final FactorialService service = new FactorialService();
+    // A field rather than a constant, so the JIT cannot fold the whole 0! to 20! loop away
+    private int maxLongN = FactorialService.MAX_LONG_FACTORIAL;
+
+    /** The large n, measured separately for each value. */
+    @State(Scope.Benchmark)
+    public static class LargeN {
+        @Param({"1000", "10000", "50000"})
+        int n;
+    }
+
+    // n in 0..20 (long): scores are nanoseconds per factorial
+
+    @Benchmark
+    @OperationsPerInvocation(FactorialService.MAX_LONG_FACTORIAL + 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long loop() {
+        long sum = 0;
+        for (int n = 0; n <= maxLongN; n++) {
+            sum += loopFactorial(n);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FactorialService.MAX_LONG_FACTORIAL + 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long table() {
+        long sum = 0;
+        for (int n = 0; n <= maxLongN; n++) {
+            sum += service.factorialExact(n);
+        }
+        return sum;
+    }
+
+    // Large n (BigInteger): scores are milliseconds per factorial
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BigInteger loopLarge(LargeN large) {
+        return loopBigFactorial(large.n);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BigInteger binarySplittingLarge(LargeN large) {
+        // A service without a cache, so every call computes the product
+        return new FactorialService(0).factorial(large.n);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BigInteger cachedLarge(LargeN large) {
+        return service.factorial(large.n);
+    }
+
+    // The original Calculator.factorial loop
+    private static long loopFactorial(int n) {
+        long result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+
+    // The same loop in BigInteger, for n beyond 20
+    private static BigInteger loopBigFactorial(int n) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FactorialBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing StudentRoster queries with the same queries over a list of Student objects.
+ * Scores are milliseconds per query. Built only with the jmh profile; see the README for how to run it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class StudentRosterBenchmark {
+
+    private static final int STUDENTS = 2_000_000;
+    private static final String[] MAJORS = {
+        "Computer Science", "Mathematics", "Physics", "Biology", "History", "Economics", "Chemistry", "Art"
+    };
+
+    private List<Student> students;
+    private StudentRoster roster;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student("Student " + i, 18 + random.nextInt(10), MAJORS[random.nextInt(MAJORS.length)]);
+            for (int g = 0; g < 5; g++) {
+                student.addGrade(40 + random.nextInt(61));
+            }
+            if (random.nextInt(10) != 0) {
+                student.enroll();
+            }
+            students.add(student);
+        }
+        roster = new StudentRoster(students);
+
+        // Both sides must compute the same answer, or the comparison means nothing
+        Map<String, Double> fromObjects = averageByMajorObjects();
+        Map<String, Double> fromRoster = roster.averageGradeByMajor();
+        for (String major : MAJORS) {
+            if (Math.abs(fromObjects.get(major) - fromRoster.get(major)) > 1e-9) {
+                throw new AssertionError("Results differ for " + major);
+            }
+        }
+        if (enrolledAndPassingObjects() != roster.countEnrolledAndPassing()) {
+            throw new AssertionError("Enrolled and passing counts differ");
+        }
+    }
+
+    @Benchmark
+    public Map<String, Double> averageByMajorObjects() {
+        return students.stream()
+                .collect(Collectors.groupingBy(Student::getMajor,
+                        Collectors.averagingDouble(Student::calculateAverageGrade)));
+    }
+
+    @Benchmark
+    public Map<String, Double> averageByMajorObjectsParallel() {
+        return students.parallelStream()
+                .collect(Collectors.groupingByConcurrent(Student::getMajor,
+                        Collectors.averagingDouble(Student::calculateAverageGrade)));
+    }
+
+    @Benchmark
+    public Map<String, Double> averageByMajorRoster() {
+        return roster.averageGradeByMajor();
+    }
+
+    @Benchmark
+    public long enrolledAndPassingObjects() {
+        return students.stream().filter(s -> s.isEnrolled() && s.isPassing()).count();
+    }
+
+    @Benchmark
+    public long enrolledAndPassingObjectsParallel() {
+        return students.parallelStream().filter(s -> s.isEnrolled() && s.isPassing()).count();
+    }
+
+    @Benchmark
+    public long enrolledAndPassingRoster() {
+        return roster.countEnrolledAndPassing();
+    }
+
+    @Benchmark
+    public long enrolledAndPassingRosterPredicates() {
+        return roster.count(roster.enrolled().and(roster.passing()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StudentRosterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
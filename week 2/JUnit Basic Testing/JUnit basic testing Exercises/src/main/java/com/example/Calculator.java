@@ -1,11 +1,16 @@
 package com.example;
 
+import java.math.BigInteger;
+
 /**
  * A simple Calculator class to demonstrate JUnit testing.
  * This class provides basic arithmetic operations.
  */
 public class Calculator {
 
+    // Shared so that every Calculator benefits from the cache of large factorials
+    private static final FactorialService FACTORIALS = new FactorialService();
+
     /**
      * Adds two integers.
      * @param a first number
@@ -64,18 +69,275 @@ public class Calculator {
      * @param n the number to calculate factorial for
      * @return factorial of n
      * @throws IllegalArgumentException if n is negative
+     * @throws ArithmeticException if the result does not fit in a long (n greater than 20)
      */
     public long factorial(int n) {
-        if (n < 0) {
-            throw new IllegalArgumentException("Factorial is not defined for negative numbers");
+        return FACTORIALS.factorialExact(n);
+    }
+
+    /**
+     * Calculates the exact factorial of a number of any size.
+     * @param n the number to calculate factorial for
+     * @return factorial of n
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger bigFactorial(int n) {
+        return FACTORIALS.factorial(n);
+    }
+
+    /*
+     * Batch operations over whole columns: out[i] = a[i] op b[i].
+     * The loops are simple counted loops without branches, which the JIT compiles to SIMD
+     * instructions (auto-vectorization), so they process several lanes per instruction.
+     * All arrays of one call must have the same length; out may be one of the inputs.
+     */
+
+    /**
+     * Adds two int columns element by element (wrapping on overflow, like add).
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] + b[i]
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void add(int[] a, int[] b, int[] out) {
+        checkLengths(a.length, b.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    /**
+     * Subtracts two int columns element by element (wrapping on overflow, like subtract).
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] - b[i]
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void subtract(int[] a, int[] b, int[] out) {
+        checkLengths(a.length, b.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = a[i] - b[i];
         }
-        if (n == 0 || n == 1) {
-            return 1;
+    }
+
+    /**
+     * Multiplies two int columns element by element (wrapping on overflow, like multiply).
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] * b[i]
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void multiply(int[] a, int[] b, int[] out) {
+        checkLengths(a.length, b.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    /**
+     * Divides two int columns element by element.
+     * @param a dividends
+     * @param b divisors
+     * @param out receives a[i] / b[i]
+     * @throws IllegalArgumentException if the arrays differ in length or any divisor is zero
+     *         (checked before anything is written)
+     */
+    public void divide(int[] a, int[] b, double[] out) {
+        checkLengths(a.length, b.length, out.length);
+        for (int divisor : b) {
+            if (divisor == 0) {
+                throw new IllegalArgumentException("Division by zero is not allowed");
+            }
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (double) a[i] / b[i];
+        }
+    }
+
+    /**
+     * Checks a column of numbers for being even.
+     * @param numbers the numbers to check
+     * @param out receives true where the number is even
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void isEven(int[] numbers, boolean[] out) {
+        checkLengths(numbers.length, numbers.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (numbers[i] & 1) == 0;
+        }
+    }
+
+    /**
+     * Adds two long columns element by element (wrapping on overflow).
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] + b[i]
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void add(long[] a, long[] b, long[] out) {
+        checkLengths(a.length, b.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = a[i] + b[i];
         }
-        long result = 1;
-        for (int i = 2; i <= n; i++) {
-            result *= i;
+    }
+
+    /**
+     * Subtracts two long columns element by element (wrapping on overflow).
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] - b[i]
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void subtract(long[] a, long[] b, long[] out) {
+        checkLengths(a.length, b.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    /**
+     * Multiplies two long columns element by element (wrapping on overflow).
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] * b[i]
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void multiply(long[] a, long[] b, long[] out) {
+        checkLengths(a.length, b.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    /*
+     * Overflow-checked batch operations, with Math.addExact (etc.) semantics reported per lane:
+     * instead of throwing at the first overflow, every lane is computed, overflowed[i] is set
+     * for each lane that overflowed (its out[i] then holds the wrapped value), and the number
+     * of such lanes is returned. Overflow is detected with bit operations instead of branches,
+     * so these loops vectorize too.
+     */
+
+    /**
+     * Adds two int columns, reporting overflow per lane.
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] + b[i]
+     * @param overflowed receives true for lanes whose sum does not fit in an int
+     * @return number of lanes that overflowed
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public int addExact(int[] a, int[] b, int[] out, boolean[] overflowed) {
+        checkLengths(a.length, b.length, out.length, overflowed.length);
+        int count = 0;
+        for (int i = 0; i < out.length; i++) {
+            int result = a[i] + b[i];
+            // Overflow if both operands have the sign opposite to the result
+            int overflow = ((a[i] ^ result) & (b[i] ^ result)) >>> 31;
+            out[i] = result;
+            overflowed[i] = overflow != 0;
+            count += overflow;
+        }
+        return count;
+    }
+
+    /**
+     * Subtracts two int columns, reporting overflow per lane.
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] - b[i]
+     * @param overflowed receives true for lanes whose difference does not fit in an int
+     * @return number of lanes that overflowed
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public int subtractExact(int[] a, int[] b, int[] out, boolean[] overflowed) {
+        checkLengths(a.length, b.length, out.length, overflowed.length);
+        int count = 0;
+        for (int i = 0; i < out.length; i++) {
+            int result = a[i] - b[i];
+            // Overflow if the operands have different signs and the result's sign differs from a
+            int overflow = ((a[i] ^ b[i]) & (a[i] ^ result)) >>> 31;
+            out[i] = result;
+            overflowed[i] = overflow != 0;
+            count += overflow;
+        }
+        return count;
+    }
+
+    /**
+     * Multiplies two int columns, reporting overflow per lane.
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] * b[i]
+     * @param overflowed receives true for lanes whose product does not fit in an int
+     * @return number of lanes that overflowed
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public int multiplyExact(int[] a, int[] b, int[] out, boolean[] overflowed) {
+        checkLengths(a.length, b.length, out.length, overflowed.length);
+        int count = 0;
+        for (int i = 0; i < out.length; i++) {
+            long product = (long) a[i] * b[i];
+            int result = (int) product;
+            // Overflow if the exact 64-bit product differs from the truncated one: (x | -x) has its
+            // sign bit set exactly when x is not zero
+            long difference = product ^ result;
+            int overflow = (int) ((difference | -difference) >>> 63);
+            out[i] = result;
+            overflowed[i] = overflow != 0;
+            count += overflow;
+        }
+        return count;
+    }
+
+    /**
+     * Adds two long columns, reporting overflow per lane.
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] + b[i]
+     * @param overflowed receives true for lanes whose sum does not fit in a long
+     * @return number of lanes that overflowed
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public int addExact(long[] a, long[] b, long[] out, boolean[] overflowed) {
+        checkLengths(a.length, b.length, out.length, overflowed.length);
+        int count = 0;
+        for (int i = 0; i < out.length; i++) {
+            long result = a[i] + b[i];
+            int overflow = (int) (((a[i] ^ result) & (b[i] ^ result)) >>> 63);
+            out[i] = result;
+            overflowed[i] = overflow != 0;
+            count += overflow;
+        }
+        return count;
+    }
+
+    /**
+     * Subtracts two long columns, reporting overflow per lane.
+     * @param a first numbers
+     * @param b second numbers
+     * @param out receives a[i] - b[i]
+     * @param overflowed receives true for lanes whose difference does not fit in a long
+     * @return number of lanes that overflowed
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public int subtractExact(long[] a, long[] b, long[] out, boolean[] overflowed) {
+        checkLengths(a.length, b.length, out.length, overflowed.length);
+        int count = 0;
+        for (int i = 0; i < out.length; i++) {
+            long result = a[i] - b[i];
+            int overflow = (int) (((a[i] ^ b[i]) & (a[i] ^ result)) >>> 63);
+            out[i] = result;
+            overflowed[i] = overflow != 0;
+            count += overflow;
+        }
+        return count;
+    }
+
+    private static void checkLengths(int... lengths) {
+        for (int length : lengths) {
+            if (length != lengths[0]) {
+                throw new IllegalArgumentException("All arrays must have the same length");
+            }
         }
-        return result;
     }
 } 
\ No newline at end of file
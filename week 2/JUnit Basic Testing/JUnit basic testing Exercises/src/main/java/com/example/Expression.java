@@ -0,0 +1,286 @@
+package com.example;
+
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Syntax tree of a formula, with constant folding and bytecode generation.
+ *
+ * Each node emits the instructions that leave its value on the operand stack, after those of
+ * its children, so a whole formula becomes one method body without calls between nodes.
+ * FormulaClassGenerator wraps that body in a class of its own.
+ */
+abstract class Expression {
+
+    private static final Calculator CALCULATOR = new Calculator();
+
+    /** Binding strength when printing: higher binds tighter. */
+    abstract int precedence();
+
+    /** Returns an equivalent expression with all constant subexpressions evaluated. */
+    abstract Expression fold();
+
+    /** Emits bytecode that pushes the value of this expression, in the layout of FormulaClassGenerator. */
+    abstract void emit(MethodVisitor method);
+
+    boolean isConstant(long value) {
+        return false;
+    }
+
+    static long divide(long a, long b) {
+        if (b == 0) {
+            throw new IllegalArgumentException("Division by zero is not allowed");
+        }
+        if (a % b != 0) {
+            throw new ArithmeticException(a + " / " + b + " is not a whole number");
+        }
+        if (a == Long.MIN_VALUE && b == -1) {
+            throw new ArithmeticException("long overflow");
+        }
+        return a / b;
+    }
+
+    static long factorial(long n) {
+        // Anything above 20 overflows; clamp so the cast to int cannot wrap around
+        return CALCULATOR.factorial(n > 21 ? 21 : (int) Math.max(n, -1));
+    }
+
+    static class Constant extends Expression {
+        final long value;
+
+        Constant(long value) {
+            this.value = value;
+        }
+
+        @Override
+        int precedence() {
+            return value < 0 ? 3 : 5;
+        }
+
+        @Override
+        Expression fold() {
+            return this;
+        }
+
+        @Override
+        void emit(MethodVisitor method) {
+            FormulaClassGenerator.pushLong(method, value);
+        }
+
+        @Override
+        boolean isConstant(long expected) {
+            return value == expected;
+        }
+
+        @Override
+        public String toString() {
+            return Long.toString(value);
+        }
+    }
+
+    static class Variable extends Expression {
+        final String name;
+        final int index;
+
+        Variable(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        @Override
+        int precedence() {
+            return 5;
+        }
+
+        @Override
+        Expression fold() {
+            return this;
+        }
+
+        @Override
+        void emit(MethodVisitor method) {
+            method.visitVarInsn(Opcodes.ALOAD, FormulaClassGenerator.VARIABLES_SLOT);
+            FormulaClassGenerator.pushInt(method, index);
+            method.visitInsn(Opcodes.LALOAD);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static class Negate extends Expression {
+        final Expression operand;
+
+        Negate(Expression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        int precedence() {
+            return 3;
+        }
+
+        @Override
+        Expression fold() {
+            Expression folded = operand.fold();
+            if (folded instanceof Constant && ((Constant) folded).value != Long.MIN_VALUE) {
+                return new Constant(-((Constant) folded).value);
+            }
+            // --x is not rewritten to x: for Long.MIN_VALUE the inner negation must overflow
+            return new Negate(folded);
+        }
+
+        @Override
+        void emit(MethodVisitor method) {
+            operand.emit(method);
+            method.visitMethodInsn(Opcodes.INVOKESTATIC, FormulaClassGenerator.MATH, "negateExact", "(J)J", false);
+        }
+
+        @Override
+        public String toString() {
+            return "-" + parenthesize(operand, precedence());
+        }
+    }
+
+    static class Factorial extends Expression {
+        final Expression operand;
+
+        Factorial(Expression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        int precedence() {
+            return 4;
+        }
+
+        @Override
+        Expression fold() {
+            Expression folded = operand.fold();
+            if (folded instanceof Constant) {
+                try {
+                    return new Constant(factorial(((Constant) folded).value));
+                } catch (ArithmeticException | IllegalArgumentException e) {
+                    // Leave it to fail at evaluation time, like any other input
+                }
+            }
+            return new Factorial(folded);
+        }
+
+        @Override
+        void emit(MethodVisitor method) {
+            method.visitVarInsn(Opcodes.ALOAD, FormulaClassGenerator.FACTORIAL_SLOT);
+            operand.emit(method);
+            method.visitMethodInsn(Opcodes.INVOKEINTERFACE, FormulaClassGenerator.LONG_UNARY_OPERATOR,
+                    "applyAsLong", "(J)J", true);
+        }
+
+        @Override
+        public String toString() {
+            return parenthesize(operand, precedence() + 1) + "!";
+        }
+    }
+
+    static class Binary extends Expression {
+        final char operator;
+        final Expression left;
+        final Expression right;
+
+        Binary(char operator, Expression left, Expression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        int precedence() {
+            return operator == '+' || operator == '-' ? 1 : 2;
+        }
+
+        @Override
+        Expression fold() {
+            Expression l = left.fold();
+            Expression r = right.fold();
+            if (l instanceof Constant && r instanceof Constant) {
+                try {
+                    return new Constant(apply(operator, ((Constant) l).value, ((Constant) r).value));
+                } catch (ArithmeticException | IllegalArgumentException e) {
+                    // Keep the operation, so the error is reported when the formula is evaluated
+                }
+            }
+            // Identities that hold for every value of the other operand
+            switch (operator) {
+                case '+':
+                    if (l.isConstant(0)) {
+                        return r;
+                    }
+                    if (r.isConstant(0)) {
+                        return l;
+                    }
+                    break;
+                case '-':
+                    if (r.isConstant(0)) {
+                        return l;
+                    }
+                    break;
+                case '*':
+                    if (l.isConstant(1)) {
+                        return r;
+                    }
+                    if (r.isConstant(1)) {
+                        return l;
+                    }
+                    break;
+                case '/':
+                    if (r.isConstant(1)) {
+                        return l;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return new Binary(operator, l, r);
+        }
+
+        @Override
+        void emit(MethodVisitor method) {
+            if (operator == '/') {
+                method.visitVarInsn(Opcodes.ALOAD, FormulaClassGenerator.DIVIDE_SLOT);
+                left.emit(method);
+                right.emit(method);
+                method.visitMethodInsn(Opcodes.INVOKEINTERFACE, FormulaClassGenerator.LONG_BINARY_OPERATOR,
+                        "applyAsLong", "(JJ)J", true);
+                return;
+            }
+            left.emit(method);
+            right.emit(method);
+            String name = operator == '+' ? "addExact" : operator == '-' ? "subtractExact" : "multiplyExact";
+            method.visitMethodInsn(Opcodes.INVOKESTATIC, FormulaClassGenerator.MATH, name, "(JJ)J", false);
+        }
+
+        static long apply(char operator, long a, long b) {
+            switch (operator) {
+                case '+':
+                    return Math.addExact(a, b);
+                case '-':
+                    return Math.subtractExact(a, b);
+                case '*':
+                    return Math.multiplyExact(a, b);
+                default:
+                    return divide(a, b);
+            }
+        }
+
+        @Override
+        public String toString() {
+            // Same-precedence operands on the right need parentheses: a - (b - c)
+            return parenthesize(left, precedence()) + " " + operator + " " + parenthesize(right, precedence() + 1);
+        }
+    }
+
+    static String parenthesize(Expression expression, int minimumPrecedence) {
+        return expression.precedence() < minimumPrecedence ? "(" + expression + ")" : expression.toString();
+    }
+}
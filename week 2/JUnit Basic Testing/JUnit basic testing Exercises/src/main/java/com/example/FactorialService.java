@@ -0,0 +1,137 @@
+package com.example;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exact factorials of any size.
+ * Values up to 20! come from a precomputed table, larger ones are computed as BigInteger
+ * with a binary-splitting product and the most recently used results are cached.
+ */
+public class FactorialService {
+
+    /** Largest n whose factorial fits in a long. */
+    public static final int MAX_LONG_FACTORIAL = 20;
+
+    /** Default number of large results kept in the cache. */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private static final long[] LONG_FACTORIALS = new long[MAX_LONG_FACTORIAL + 1];
+
+    // Ranges shorter than this are multiplied directly instead of being split further
+    private static final int SPLIT_THRESHOLD = 16;
+
+    static {
+        LONG_FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_LONG_FACTORIAL; i++) {
+            LONG_FACTORIALS[i] = LONG_FACTORIALS[i - 1] * i;
+        }
+    }
+
+    private final Map<Integer, BigInteger> cache;
+
+    /**
+     * Creates a service with the default cache size.
+     */
+    public FactorialService() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a service that caches up to cacheSize large results.
+     * @param cacheSize number of results to keep; the least recently used one is evicted first
+     * @throws IllegalArgumentException if cacheSize is negative
+     */
+    public FactorialService(final int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.cache = new LinkedHashMap<Integer, BigInteger>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BigInteger> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns n! as a long, read from a precomputed table.
+     * @param n the number to calculate factorial for
+     * @return factorial of n
+     * @throws IllegalArgumentException if n is negative
+     * @throws ArithmeticException if n! does not fit in a long (n greater than 20)
+     */
+    public long factorialExact(int n) {
+        checkNotNegative(n);
+        if (n > MAX_LONG_FACTORIAL) {
+            throw new ArithmeticException(n + "! does not fit in a long");
+        }
+        return LONG_FACTORIALS[n];
+    }
+
+    /**
+     * Returns the exact value of n!.
+     * @param n the number to calculate factorial for
+     * @return factorial of n
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger factorial(int n) {
+        checkNotNegative(n);
+        if (n <= MAX_LONG_FACTORIAL) {
+            return BigInteger.valueOf(LONG_FACTORIALS[n]);
+        }
+        synchronized (cache) {
+            BigInteger cached = cache.get(n);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Computed outside the lock, so one large factorial does not block other callers
+        BigInteger result = product(MAX_LONG_FACTORIAL + 1, n).multiply(BigInteger.valueOf(LONG_FACTORIALS[MAX_LONG_FACTORIAL]));
+        synchronized (cache) {
+            cache.put(n, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of large results currently cached.
+     * @return cache size
+     */
+    public int cachedCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Multiplies all integers in [from, to].
+     * Splitting the range in halves keeps both operands of every multiplication about the
+     * same size, which is much faster for big numbers than multiplying a growing product
+     * by one small factor at a time.
+     */
+    private static BigInteger product(int from, int to) {
+        if (to - from < SPLIT_THRESHOLD) {
+            BigInteger result = BigInteger.ONE;
+            long partial = 1;
+            for (long i = from; i <= to; i++) {
+                // Multiply in long arithmetic while the partial product cannot overflow
+                if (partial > Long.MAX_VALUE / i) {
+                    result = result.multiply(BigInteger.valueOf(partial));
+                    partial = 1;
+                }
+                partial *= i;
+            }
+            return result.multiply(BigInteger.valueOf(partial));
+        }
+        int middle = (from + to) >>> 1;
+        return product(from, middle).multiply(product(middle + 1, to));
+    }
+
+    private static void checkNotNegative(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial is not defined for negative numbers");
+        }
+    }
+}
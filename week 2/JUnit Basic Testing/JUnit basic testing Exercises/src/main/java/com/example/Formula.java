@@ -0,0 +1,67 @@
+package com.example;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * A compiled formula, created by FormulaCompiler.
+ * Formulas are immutable and can be evaluated by many threads at once.
+ */
+public final class Formula {
+
+    private final String source;
+    private final String optimized;
+    private final List<String> variables;
+    // Instance of the class generated for this formula; its argument holds the variable values
+    private final ToLongFunction<long[]> evaluator;
+
+    Formula(String source, String optimized, List<String> variables, ToLongFunction<long[]> evaluator) {
+        this.source = source;
+        this.optimized = optimized;
+        this.variables = Collections.unmodifiableList(variables);
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Evaluates the formula.
+     * @param values the values of the variables, in the order of getVariables()
+     * @return the exact result
+     * @throws IllegalArgumentException if the number of values does not match the variables,
+     *         on division by zero, or on the factorial of a negative number
+     * @throws ArithmeticException if an intermediate result does not fit in a long, or a
+     *         division has a remainder
+     */
+    public long evaluate(long... values) {
+        if (values.length != variables.size()) {
+            throw new IllegalArgumentException("Formula " + source + " needs " + variables.size()
+                    + " values, got " + values.length);
+        }
+        return evaluator.applyAsLong(values);
+    }
+
+    /**
+     * Returns the variable names in order of first appearance in the source.
+     * @return the variables
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the formula after constant folding, e.g. "x * 6" for "x * 3!".
+     * @return the optimized expression
+     */
+    public String getOptimized() {
+        return optimized;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
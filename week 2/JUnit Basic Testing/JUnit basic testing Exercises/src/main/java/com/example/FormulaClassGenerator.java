@@ -0,0 +1,165 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+import org.objectweb.asm.ClassTooLargeException;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodTooLargeException;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Compiles an Expression into a class of its own, so a formula runs as straight-line
+ * bytecode that the JIT compiles and inlines like hand-written code.
+ *
+ * For "a * b + 1" the generated class is equivalent to:
+ * <pre>
+ * public final class CompiledFormula1 implements ToLongFunction&lt;long[]&gt; {
+ *     public long applyAsLong(Object values) {
+ *         long[] variables = (long[]) values;
+ *         return Math.addExact(Math.multiplyExact(variables[0], variables[1]), 1L);
+ *     }
+ * }
+ * </pre>
+ *
+ * Every class is defined by its own class loader, so it is unloaded once its Formula has
+ * been evicted from the FormulaCompiler cache and is no longer used. Classes from another
+ * loader cannot call package-private methods of com.example, so division and factorial
+ * are passed to the constructor as LongBinaryOperator and LongUnaryOperator fields.
+ */
+final class FormulaClassGenerator {
+
+    /** Local variable slots of applyAsLong, as used by Expression.emit. */
+    static final int VARIABLES_SLOT = 2;
+    static final int DIVIDE_SLOT = 3;
+    static final int FACTORIAL_SLOT = 4;
+
+    static final String MATH = "java/lang/Math";
+    static final String LONG_BINARY_OPERATOR = Type.getInternalName(LongBinaryOperator.class);
+    static final String LONG_UNARY_OPERATOR = Type.getInternalName(LongUnaryOperator.class);
+
+    private static final String CLASS_NAME_PREFIX = "com/example/CompiledFormula";
+    private static final String TO_LONG_FUNCTION = Type.getInternalName(ToLongFunction.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE,
+            Type.getType(LongBinaryOperator.class), Type.getType(LongUnaryOperator.class));
+
+    private static final LongBinaryOperator DIVIDE = Expression::divide;
+    private static final LongUnaryOperator FACTORIAL = Expression::factorial;
+    private static final AtomicInteger CLASS_COUNT = new AtomicInteger();
+
+    private FormulaClassGenerator() {
+    }
+
+    /**
+     * Generates, loads and instantiates the class for one formula.
+     * @param source the formula text, recorded as the class's source file so that it shows up in stack traces
+     * @param expression the folded expression to compile
+     * @return the evaluator; its argument holds the variable values
+     * @throws IllegalArgumentException if the formula is too large for one method
+     */
+    static ToLongFunction<long[]> compile(String source, Expression expression) {
+        String className = CLASS_NAME_PREFIX + CLASS_COUNT.incrementAndGet();
+        byte[] bytes;
+        try {
+            bytes = generate(className, source, expression);
+        } catch (MethodTooLargeException | ClassTooLargeException e) {
+            throw new IllegalArgumentException("Formula is too large to compile: " + source, e);
+        }
+        Class<?> generated = new FormulaClassLoader(FormulaClassGenerator.class.getClassLoader())
+                .define(className.replace('/', '.'), bytes);
+        try {
+            @SuppressWarnings("unchecked")
+            ToLongFunction<long[]> evaluator = (ToLongFunction<long[]>) generated
+                    .getConstructor(LongBinaryOperator.class, LongUnaryOperator.class)
+                    .newInstance(DIVIDE, FACTORIAL);
+            return evaluator;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not instantiate the class generated for: " + source, e);
+        }
+    }
+
+    private static byte[] generate(String className, String source, Expression expression) {
+        // There are no branches, so only the stack size has to be computed, not stack map frames
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className,
+                "Ljava/lang/Object;L" + TO_LONG_FUNCTION + "<[J>;", "java/lang/Object",
+                new String[] {TO_LONG_FUNCTION});
+        writer.visitSource(source, null);
+        writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "divide", "L" + LONG_BINARY_OPERATOR + ";", null, null)
+                .visitEnd();
+        writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "factorial", "L" + LONG_UNARY_OPERATOR + ";", null, null)
+                .visitEnd();
+
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitVarInsn(Opcodes.ALOAD, 1);
+        constructor.visitFieldInsn(Opcodes.PUTFIELD, className, "divide", "L" + LONG_BINARY_OPERATOR + ";");
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitVarInsn(Opcodes.ALOAD, 2);
+        constructor.visitFieldInsn(Opcodes.PUTFIELD, className, "factorial", "L" + LONG_UNARY_OPERATOR + ";");
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, "applyAsLong", "(Ljava/lang/Object;)J", null, null);
+        method.visitCode();
+        method.visitVarInsn(Opcodes.ALOAD, 1);
+        method.visitTypeInsn(Opcodes.CHECKCAST, "[J");
+        method.visitVarInsn(Opcodes.ASTORE, VARIABLES_SLOT);
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitFieldInsn(Opcodes.GETFIELD, className, "divide", "L" + LONG_BINARY_OPERATOR + ";");
+        method.visitVarInsn(Opcodes.ASTORE, DIVIDE_SLOT);
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitFieldInsn(Opcodes.GETFIELD, className, "factorial", "L" + LONG_UNARY_OPERATOR + ";");
+        method.visitVarInsn(Opcodes.ASTORE, FACTORIAL_SLOT);
+        expression.emit(method);
+        method.visitInsn(Opcodes.LRETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /** Pushes an int with the shortest instruction for its value. */
+    static void pushInt(MethodVisitor method, int value) {
+        if (value >= -1 && value <= 5) {
+            method.visitInsn(Opcodes.ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            method.visitIntInsn(Opcodes.BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            method.visitIntInsn(Opcodes.SIPUSH, value);
+        } else {
+            method.visitLdcInsn(value);
+        }
+    }
+
+    /** Pushes a long with the shortest instruction for its value. */
+    static void pushLong(MethodVisitor method, long value) {
+        if (value == 0 || value == 1) {
+            method.visitInsn(Opcodes.LCONST_0 + (int) value);
+        } else {
+            method.visitLdcInsn(value);
+        }
+    }
+
+    /**
+     * Defines exactly one generated class.
+     */
+    private static final class FormulaClassLoader extends ClassLoader {
+        FormulaClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles formulas over the Calculator operations into fast, reusable Formula objects.
+ *
+ * Syntax: whole numbers, variables (letters, digits and '_', starting with a letter),
+ * + - * / with the usual precedence, unary minus, postfix ! or factorial(x) for the
+ * factorial, and parentheses. For example: "price * quantity - discount" or "(n + 1)! / 2".
+ *
+ * Arithmetic is exact: results are longs, and an operation whose result is not an exact
+ * long (overflow, or a division with a remainder) throws ArithmeticException instead of
+ * wrapping or rounding.
+ *
+ * Each formula is parsed, constant-folded and compiled once into a class of its own (see
+ * FormulaClassGenerator), which the JIT then compiles like any other method. Compiled formulas
+ * are cached by their source text, so compiling the same formula again is a map lookup.
+ */
+public class FormulaCompiler {
+
+    /** Default number of compiled formulas kept in the cache. */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final Map<String, Formula> cache;
+
+    /**
+     * Creates a compiler with the default cache size.
+     */
+    public FormulaCompiler() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a compiler that caches up to cacheSize formulas.
+     * @param cacheSize number of formulas to keep; the least recently used one is evicted first
+     * @throws IllegalArgumentException if cacheSize is negative
+     */
+    public FormulaCompiler(final int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.cache = new LinkedHashMap<String, Formula>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Formula> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Compiles a formula, or returns the cached compilation of the same source text.
+     * @param source the formula
+     * @return the compiled formula
+     * @throws IllegalArgumentException if the formula is not valid, or too large to compile
+     */
+    public Formula compile(String source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Formula cannot be null");
+        }
+        synchronized (cache) {
+            Formula cached = cache.get(source);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Parser parser = new Parser(source);
+        Expression expression = parser.parse().fold();
+        Formula formula = new Formula(source, expression.toString(), parser.variables,
+                FormulaClassGenerator.compile(source, expression));
+        synchronized (cache) {
+            cache.put(source, formula);
+        }
+        return formula;
+    }
+
+    /**
+     * Returns the number of formulas currently cached.
+     * @return cache size
+     */
+    public int cachedCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Recursive descent parser; one method per precedence level.
+     */
+    private static class Parser {
+        private final String source;
+        private final List<String> variables = new ArrayList<>();
+        private int position;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        Expression parse() {
+            Expression expression = parseSum();
+            skipSpaces();
+            if (position < source.length()) {
+                throw error("Unexpected '" + source.charAt(position) + "'");
+            }
+            return expression;
+        }
+
+        // sum := product (('+' | '-') product)*
+        private Expression parseSum() {
+            Expression expression = parseProduct();
+            while (true) {
+                char operator = peek();
+                if (operator != '+' && operator != '-') {
+                    return expression;
+                }
+                position++;
+                expression = new Expression.Binary(operator, expression, parseProduct());
+            }
+        }
+
+        // product := unary (('*' | '/') unary)*
+        private Expression parseProduct() {
+            Expression expression = parseUnary();
+            while (true) {
+                char operator = peek();
+                if (operator != '*' && operator != '/') {
+                    return expression;
+                }
+                position++;
+                expression = new Expression.Binary(operator, expression, parseUnary());
+            }
+        }
+
+        // unary := '-' unary | postfix
+        private Expression parseUnary() {
+            if (peek() == '-') {
+                position++;
+                return new Expression.Negate(parseUnary());
+            }
+            return parsePostfix();
+        }
+
+        // postfix := primary '!'*
+        private Expression parsePostfix() {
+            Expression expression = parsePrimary();
+            while (peek() == '!') {
+                position++;
+                expression = new Expression.Factorial(expression);
+            }
+            return expression;
+        }
+
+        // primary := number | variable | 'factorial' '(' sum ')' | '(' sum ')'
+        private Expression parsePrimary() {
+            char next = peek();
+            if (next == '(') {
+                position++;
+                Expression expression = parseSum();
+                expect(')');
+                return expression;
+            }
+            int start = position;
+            if (Character.isDigit(next)) {
+                while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                    position++;
+                }
+                try {
+                    return new Expression.Constant(Long.parseLong(source.substring(start, position)));
+                } catch (NumberFormatException e) {
+                    throw error("Number too large");
+                }
+            }
+            if (Character.isLetter(next)) {
+                while (position < source.length()
+                        && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+                    position++;
+                }
+                String name = source.substring(start, position);
+                if (name.equals("factorial") && peek() == '(') {
+                    position++;
+                    Expression argument = parseSum();
+                    expect(')');
+                    return new Expression.Factorial(argument);
+                }
+                int index = variables.indexOf(name);
+                if (index < 0) {
+                    index = variables.size();
+                    variables.add(name);
+                }
+                return new Expression.Variable(name, index);
+            }
+            throw error(next == 0 ? "Unexpected end of formula" : "Unexpected '" + next + "'");
+        }
+
+        private void expect(char expected) {
+            if (peek() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+            position++;
+        }
+
+        // Next non-space character, or 0 at the end
+        private char peek() {
+            skipSpaces();
+            return position < source.length() ? source.charAt(position) : 0;
+        }
+
+        private void skipSpaces() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position + " in formula: " + source);
+        }
+    }
+}
@@ -1,16 +1,33 @@
 package com.example;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.DoubleStream;
 
 /**
  * Student class for demonstrating AAA pattern and test fixtures.
  * This class represents a student with basic academic information.
  */
 public class Student {
+    private static final int INITIAL_GRADE_CAPACITY = 8;
+
     private String name;
     private int age;
-    private List<Double> grades;
+    // Grades are stored unboxed in a growable array; only the first gradeCount are used
+    private double[] grades;
+    private int gradeCount;
+    // Running statistics, updated by addGrade so that averages are O(1).
+    // gradeSum + sumCompensation is the Kahan-Babuska (Neumaier) compensated sum.
+    private double gradeSum;
+    private double sumCompensation;
+    private double minGrade;
+    private double maxGrade;
+    // List<Double>.hashCode of the grades, kept up to date by addGrade
+    private int gradesHash = 1;
+    // Cached hashCode(); 0 means not computed yet. Every mutator resets it.
+    private int hash;
+    private final GradeView gradeView = new GradeView();
     private String major;
     private boolean isEnrolled;
 
@@ -18,7 +35,7 @@ public class Student {
      * Default constructor.
      */
     public Student() {
-        this.grades = new ArrayList<>();
+        this.grades = new double[INITIAL_GRADE_CAPACITY];
         this.isEnrolled = false;
     }
 
@@ -49,6 +66,7 @@ public class Student {
             throw new IllegalArgumentException("Name cannot be null or empty");
         }
         this.name = name.trim();
+        hash = 0;
     }
 
     public int getAge() {
@@ -60,17 +78,69 @@ public class Student {
             throw new IllegalArgumentException("Age must be between 0 and 150");
         }
         this.age = age;
+        hash = 0;
     }
 
+    /**
+     * Get a copy of the grades as a list.
+     * Boxes every grade; prefer getGradeView() to read grades without copying.
+     * @return a new list with the grades in the order they were added
+     */
     public List<Double> getGrades() {
-        return new ArrayList<>(grades); // Return a copy to maintain encapsulation
+        List<Double> copy = new ArrayList<>(gradeCount);
+        for (int i = 0; i < gradeCount; i++) {
+            copy.add(grades[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * Get a read-only view of the grades, without copying or boxing.
+     * The view always reflects the current grades.
+     * @return the grade view
+     */
+    public GradeView getGradeView() {
+        return gradeView;
     }
 
     public void addGrade(double grade) {
         if (grade < 0.0 || grade > 100.0) {
             throw new IllegalArgumentException("Grade must be between 0.0 and 100.0");
         }
-        grades.add(grade);
+        if (gradeCount == grades.length) {
+            grades = Arrays.copyOf(grades, grades.length * 2);
+        }
+        grades[gradeCount] = grade;
+        minGrade = gradeCount == 0 ? grade : Math.min(minGrade, grade);
+        maxGrade = gradeCount == 0 ? grade : Math.max(maxGrade, grade);
+        gradeCount++;
+
+        // Neumaier's variant of Kahan summation: keeps the rounding error of each addition
+        double sum = gradeSum + grade;
+        if (Math.abs(gradeSum) >= Math.abs(grade)) {
+            sumCompensation += (gradeSum - sum) + grade;
+        } else {
+            sumCompensation += (grade - sum) + gradeSum;
+        }
+        gradeSum = sum;
+        gradesHash = 31 * gradesHash + Double.hashCode(grade);
+        hash = 0;
+    }
+
+    /**
+     * Get the lowest grade.
+     * @return lowest grade or 0.0 if no grades
+     */
+    public double getMinGrade() {
+        return gradeCount == 0 ? 0.0 : minGrade;
+    }
+
+    /**
+     * Get the highest grade.
+     * @return highest grade or 0.0 if no grades
+     */
+    public double getMaxGrade() {
+        return gradeCount == 0 ? 0.0 : maxGrade;
     }
 
     public String getMajor() {
@@ -79,6 +149,7 @@ public class Student {
 
     public void setMajor(String major) {
         this.major = major;
+        hash = 0;
     }
 
     public boolean isEnrolled() {
@@ -87,26 +158,23 @@ public class Student {
 
     public void enroll() {
         this.isEnrolled = true;
+        hash = 0;
     }
 
     public void withdraw() {
         this.isEnrolled = false;
+        hash = 0;
     }
 
     /**
-     * Calculate the average grade.
+     * Calculate the average grade, in O(1) from the running sum.
      * @return average grade or 0.0 if no grades
      */
     public double calculateAverageGrade() {
-        if (grades.isEmpty()) {
+        if (gradeCount == 0) {
             return 0.0;
         }
-        
-        double sum = 0.0;
-        for (Double grade : grades) {
-            sum += grade;
-        }
-        return sum / grades.size();
+        return (gradeSum + sumCompensation) / gradeCount;
     }
 
     /**
@@ -137,13 +205,13 @@ public class Student {
      * @return total credits
      */
     public int getTotalCredits() {
-        return grades.size() * 3;
+        return gradeCount * 3;
     }
 
     @Override
     public String toString() {
         return String.format("Student{name='%s', age=%d, major='%s', enrolled=%b, grades=%d, average=%.2f}",
-                name, age, major, isEnrolled, grades.size(), calculateAverageGrade());
+                name, age, major, isEnrolled, gradeCount, calculateAverageGrade());
     }
 
     @Override
@@ -152,20 +220,88 @@ public class Student {
         if (obj == null || getClass() != obj.getClass()) return false;
         
         Student student = (Student) obj;
+        // Cheap checks first: different sizes or hashes mean the grades need not be compared
+        if (gradeCount != student.gradeCount || hashCode() != student.hashCode()) {
+            return false;
+        }
         return age == student.age &&
                isEnrolled == student.isEnrolled &&
                (name != null ? name.equals(student.name) : student.name == null) &&
                (major != null ? major.equals(student.major) : student.major == null) &&
-               grades.equals(student.grades);
+               gradesEqual(student);
     }
 
+    // Same comparison as List<Double>.equals: element by element, with Double.equals semantics
+    private boolean gradesEqual(Student other) {
+        for (int i = 0; i < gradeCount; i++) {
+            if (Double.doubleToLongBits(grades[i]) != Double.doubleToLongBits(other.grades[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computed on first use and cached until the student is next modified.
+     * A student whose hash really is 0 is simply recomputed each time.
+     */
     @Override
     public int hashCode() {
-        int result = name != null ? name.hashCode() : 0;
-        result = 31 * result + age;
-        result = 31 * result + grades.hashCode();
-        result = 31 * result + (major != null ? major.hashCode() : 0);
-        result = 31 * result + (isEnrolled ? 1 : 0);
+        int result = hash;
+        if (result == 0) {
+            result = name != null ? name.hashCode() : 0;
+            result = 31 * result + age;
+            result = 31 * result + gradesHash;
+            result = 31 * result + (major != null ? major.hashCode() : 0);
+            result = 31 * result + (isEnrolled ? 1 : 0);
+            hash = result;
+        }
         return result;
     }
+
+    /**
+     * Read-only, unboxed view of a student's grades.
+     */
+    public final class GradeView {
+
+        private GradeView() {
+        }
+
+        public int size() {
+            return gradeCount;
+        }
+
+        public boolean isEmpty() {
+            return gradeCount == 0;
+        }
+
+        /**
+         * Get one grade.
+         * @param index position of the grade, in the order the grades were added
+         * @return the grade
+         * @throws IndexOutOfBoundsException if index is not between 0 and size() - 1
+         */
+        public double get(int index) {
+            if (index < 0 || index >= gradeCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + gradeCount);
+            }
+            return grades[index];
+        }
+
+        /**
+         * Stream the grades without copying them.
+         * @return a stream over the current grades
+         */
+        public DoubleStream stream() {
+            return Arrays.stream(grades, 0, gradeCount);
+        }
+
+        /**
+         * Copy the grades into a new array.
+         * @return the grades
+         */
+        public double[] toArray() {
+            return Arrays.copyOf(grades, gradeCount);
+        }
+    }
 } 
\ No newline at end of file
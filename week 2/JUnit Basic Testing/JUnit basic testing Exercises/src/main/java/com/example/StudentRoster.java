@@ -0,0 +1,305 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Column store for large numbers of students, answering aggregate queries such as
+ * "average grade by major" or "how many enrolled students are passing".
+ *
+ * Each field is kept in its own primitive array, indexed by row: names, ages, majors
+ * dictionary-encoded as small int codes, enrollment as a bitset, and each student's grade
+ * count and average. A query reads only the columns it needs, sequentially, and runs in
+ * parallel over ranges of rows, instead of visiting one Student object after another.
+ *
+ * Adding students is not thread-safe; queries may run concurrently with each other.
+ */
+public class StudentRoster {
+
+    /** Average grade from which a student is passing, as in Student.isPassing(). */
+    public static final double PASSING_AVERAGE = 60.0;
+
+    private static final int INITIAL_CAPACITY = 16;
+    // Code of a student without a major
+    private static final int NO_MAJOR = -1;
+
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private int[] majorCodes = new int[INITIAL_CAPACITY];
+    private long[] enrolled = new long[(INITIAL_CAPACITY + 63) / 64];
+    private int[] gradeCounts = new int[INITIAL_CAPACITY];
+    private double[] averageGrades = new double[INITIAL_CAPACITY];
+    private int size;
+
+    // Major dictionary: code -> name and name -> code
+    private final List<String> majors = new ArrayList<>();
+    private final Map<String, Integer> majorCodesByName = new HashMap<>();
+
+    /**
+     * Creates an empty roster.
+     */
+    public StudentRoster() {
+    }
+
+    /**
+     * Creates a roster with the given students.
+     * @param students the students to add
+     */
+    public StudentRoster(Collection<Student> students) {
+        ensureCapacity(students.size());
+        for (Student student : students) {
+            add(student);
+        }
+    }
+
+    /**
+     * Adds a snapshot of a student; later changes to the Student object are not seen.
+     * @param student the student to add
+     * @return the row of the student
+     */
+    public int add(Student student) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        names[row] = student.getName();
+        ages[row] = student.getAge();
+        majorCodes[row] = encodeMajor(student.getMajor());
+        setEnrolled(row, student.isEnrolled());
+        gradeCounts[row] = student.getGradeView().size();
+        averageGrades[row] = student.calculateAverageGrade();
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName(int row) {
+        checkRow(row);
+        return names[row];
+    }
+
+    public int getAge(int row) {
+        checkRow(row);
+        return ages[row];
+    }
+
+    public String getMajor(int row) {
+        checkRow(row);
+        return majorCodes[row] == NO_MAJOR ? null : majors.get(majorCodes[row]);
+    }
+
+    public boolean isEnrolled(int row) {
+        checkRow(row);
+        return (enrolled[row >>> 6] & (1L << row)) != 0;
+    }
+
+    public void setEnrolled(int row, boolean isEnrolled) {
+        checkRow(row);
+        if (isEnrolled) {
+            enrolled[row >>> 6] |= 1L << row;
+        } else {
+            enrolled[row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    public int getGradeCount(int row) {
+        checkRow(row);
+        return gradeCounts[row];
+    }
+
+    /**
+     * Get a student's average grade.
+     * @param row the student's row
+     * @return average grade or 0.0 if no grades
+     */
+    public double getAverageGrade(int row) {
+        checkRow(row);
+        return averageGrades[row];
+    }
+
+    /*
+     * Row predicates for filter, count and the group-by queries; combine them with
+     * IntPredicate.and/or/negate. They read the columns when they are tested, not when they
+     * are created, so a predicate stays valid while students are added and the columns grow.
+     */
+
+    public IntPredicate enrolled() {
+        return row -> (enrolled[row >>> 6] & (1L << row)) != 0;
+    }
+
+    public IntPredicate passing() {
+        return row -> averageGrades[row] >= PASSING_AVERAGE;
+    }
+
+    /**
+     * Matches students of one major; the name is looked up once, not per row, if the
+     * major is already in the roster.
+     * @param major the major, or null for students without a major
+     * @return the predicate
+     */
+    public IntPredicate majorIs(String major) {
+        Integer code = major == null ? Integer.valueOf(NO_MAJOR) : majorCodesByName.get(major);
+        if (code == null) {
+            // Not in the roster yet; it gets a code when the first student with it is added
+            return row -> {
+                Integer added = majorCodesByName.get(major);
+                return added != null && majorCodes[row] == added;
+            };
+        }
+        int wanted = code;
+        return row -> majorCodes[row] == wanted;
+    }
+
+    public IntPredicate ageBetween(int minimum, int maximum) {
+        return row -> ages[row] >= minimum && ages[row] <= maximum;
+    }
+
+    /**
+     * Finds the rows matching a predicate, in parallel.
+     * @param predicate the row predicate
+     * @return the matching rows in ascending order
+     */
+    public int[] filter(IntPredicate predicate) {
+        return IntStream.range(0, size).parallel().filter(predicate).toArray();
+    }
+
+    /**
+     * Counts the rows matching a predicate, in parallel.
+     * @param predicate the row predicate
+     * @return number of matching rows
+     */
+    public long count(IntPredicate predicate) {
+        return IntStream.range(0, size).parallel().filter(predicate).count();
+    }
+
+    /**
+     * Counts enrolled students who are passing.
+     * Works on whole 64-row words: the passing bits of a word are ANDed with its
+     * enrollment bits and counted with one bitCount.
+     * @return number of enrolled, passing students
+     */
+    public long countEnrolledAndPassing() {
+        return IntStream.range(0, (size + 63) >>> 6).parallel().mapToLong(word -> {
+            long passingBits = 0;
+            int end = Math.min(size, (word + 1) << 6);
+            for (int row = word << 6; row < end; row++) {
+                if (averageGrades[row] >= PASSING_AVERAGE) {
+                    passingBits |= 1L << row;
+                }
+            }
+            return Long.bitCount(passingBits & enrolled[word]);
+        }).sum();
+    }
+
+    /**
+     * Number of students per major.
+     * @return count per major, in order of first appearance; students without a major are not counted
+     */
+    public Map<String, Long> countByMajor() {
+        return countByMajor(row -> true);
+    }
+
+    /**
+     * Number of students per major among the rows matching a filter.
+     * @param filter the row predicate
+     * @return count per major, in order of first appearance; students without a major are not counted
+     */
+    public Map<String, Long> countByMajor(IntPredicate filter) {
+        double[] totals = aggregateByMajor(filter);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int code = 0; code < majors.size(); code++) {
+            if (totals[2 * code + 1] > 0) {
+                counts.put(majors.get(code), (long) totals[2 * code + 1]);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Average of the students' average grades per major (students without grades count as 0.0,
+     * as in Student.calculateAverageGrade()).
+     * @return average per major, in order of first appearance; students without a major are not included
+     */
+    public Map<String, Double> averageGradeByMajor() {
+        return averageGradeByMajor(row -> true);
+    }
+
+    /**
+     * Average of the students' average grades per major, among the rows matching a filter.
+     * @param filter the row predicate
+     * @return average per major, in order of first appearance; students without a major are not included
+     */
+    public Map<String, Double> averageGradeByMajor(IntPredicate filter) {
+        double[] totals = aggregateByMajor(filter);
+        Map<String, Double> averages = new LinkedHashMap<>();
+        for (int code = 0; code < majors.size(); code++) {
+            if (totals[2 * code + 1] > 0) {
+                averages.put(majors.get(code), totals[2 * code] / totals[2 * code + 1]);
+            }
+        }
+        return averages;
+    }
+
+    /**
+     * Sums average grades and counts rows per major code, in parallel: each worker fills its
+     * own array of [sum, count] pairs, and the arrays are added together at the end.
+     */
+    private double[] aggregateByMajor(IntPredicate filter) {
+        int majorCount = majors.size();
+        int[] codes = majorCodes;
+        double[] averages = averageGrades;
+        return IntStream.range(0, size).parallel().collect(
+                () -> new double[2 * majorCount],
+                (totals, row) -> {
+                    int code = codes[row];
+                    if (code != NO_MAJOR && filter.test(row)) {
+                        totals[2 * code] += averages[row];
+                        totals[2 * code + 1]++;
+                    }
+                },
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        left[i] += right[i];
+                    }
+                });
+    }
+
+    private int encodeMajor(String major) {
+        if (major == null) {
+            return NO_MAJOR;
+        }
+        Integer code = majorCodesByName.get(major);
+        if (code == null) {
+            code = majors.size();
+            majors.add(major);
+            majorCodesByName.put(major, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= names.length) {
+            return;
+        }
+        int capacity = Math.max(minCapacity, names.length + (names.length >> 1));
+        names = Arrays.copyOf(names, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        majorCodes = Arrays.copyOf(majorCodes, capacity);
+        enrolled = Arrays.copyOf(enrolled, (capacity + 63) / 64);
+        gradeCounts = Arrays.copyOf(gradeCounts, capacity);
+        averageGrades = Arrays.copyOf(averageGrades, capacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+    }
+}
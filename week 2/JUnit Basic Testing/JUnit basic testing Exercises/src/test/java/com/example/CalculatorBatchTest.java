@@ -0,0 +1,184 @@
+package com.example;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+/**
+ * JUnit test class for the batch (array) operations of Calculator.
+ * Every batch result is compared with the scalar method or Math.*Exact for the same lane.
+ */
+public class CalculatorBatchTest {
+
+    private Calculator calculator;
+    private Random random;
+
+    @Before
+    public void setUp() {
+        calculator = new Calculator();
+        random = new Random(42);
+    }
+
+    private int[] randomInts(int length) {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            // Mix small values with values near the limits, so some lanes overflow
+            values[i] = i % 3 == 0 ? random.nextInt() : random.nextInt(2001) - 1000;
+        }
+        values[0] = Integer.MAX_VALUE;
+        values[1] = Integer.MIN_VALUE;
+        return values;
+    }
+
+    private long[] randomLongs(int length) {
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = i % 3 == 0 ? random.nextLong() : random.nextInt(2001) - 1000;
+        }
+        values[0] = Long.MAX_VALUE;
+        values[1] = Long.MIN_VALUE;
+        return values;
+    }
+
+    /**
+     * Test the wrapping int operations against the scalar methods.
+     */
+    @Test
+    public void testIntBatchMatchesScalar() {
+        int[] a = randomInts(1000);
+        int[] b = randomInts(1000);
+        int[] sum = new int[1000];
+        int[] difference = new int[1000];
+        int[] product = new int[1000];
+        boolean[] even = new boolean[1000];
+
+        calculator.add(a, b, sum);
+        calculator.subtract(a, b, difference);
+        calculator.multiply(a, b, product);
+        calculator.isEven(a, even);
+
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(calculator.add(a[i], b[i]), sum[i]);
+            assertEquals(calculator.subtract(a[i], b[i]), difference[i]);
+            assertEquals(calculator.multiply(a[i], b[i]), product[i]);
+            assertEquals(calculator.isEven(a[i]), even[i]);
+        }
+    }
+
+    /**
+     * Test batch division, including the up-front division by zero check.
+     */
+    @Test
+    public void testDivideBatch() {
+        int[] a = {6, 5, -6, 7};
+        int[] b = {3, 2, 3, -2};
+        double[] out = new double[4];
+
+        calculator.divide(a, b, out);
+
+        assertArrayEquals(new double[] {2.0, 2.5, -2.0, -3.5}, out, 0.001);
+
+        b[3] = 0;
+        double[] untouched = new double[4];
+        try {
+            calculator.divide(a, b, untouched);
+            fail("Expected IllegalArgumentException was not thrown");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Division by zero is not allowed", e.getMessage());
+        }
+        assertArrayEquals("Nothing should be written when a divisor is zero", new double[4], untouched, 0.0);
+    }
+
+    /**
+     * Test the overflow-checked int operations against Math.*Exact, lane by lane.
+     */
+    @Test
+    public void testIntExactReportsOverflowPerLane() {
+        int[] a = randomInts(1000);
+        int[] b = randomInts(1000);
+        int[] out = new int[1000];
+        boolean[] overflowed = new boolean[1000];
+
+        int addOverflows = calculator.addExact(a, b, out, overflowed);
+        assertTrue("The test data should contain overflowing sums", addOverflows > 0);
+        assertExact(addOverflows, out, overflowed, a, b, '+');
+
+        assertExact(calculator.subtractExact(a, b, out, overflowed), out, overflowed, a, b, '-');
+        assertExact(calculator.multiplyExact(a, b, out, overflowed), out, overflowed, a, b, '*');
+    }
+
+    private static void assertExact(int count, int[] out, boolean[] overflowed, int[] a, int[] b, char operation) {
+        int expectedCount = 0;
+        for (int i = 0; i < a.length; i++) {
+            try {
+                int expected = operation == '+' ? Math.addExact(a[i], b[i])
+                        : operation == '-' ? Math.subtractExact(a[i], b[i]) : Math.multiplyExact(a[i], b[i]);
+                assertFalse("Lane " + i + " should not overflow for " + operation, overflowed[i]);
+                assertEquals(expected, out[i]);
+            } catch (ArithmeticException e) {
+                assertTrue("Lane " + i + " should overflow for " + operation, overflowed[i]);
+                expectedCount++;
+            }
+        }
+        assertEquals(expectedCount, count);
+    }
+
+    /**
+     * Test the long operations against Math.*Exact, lane by lane.
+     */
+    @Test
+    public void testLongBatch() {
+        long[] a = randomLongs(1000);
+        long[] b = randomLongs(1000);
+        long[] sum = new long[1000];
+        long[] difference = new long[1000];
+        long[] product = new long[1000];
+        boolean[] addOverflowed = new boolean[1000];
+        boolean[] subtractOverflowed = new boolean[1000];
+
+        calculator.multiply(a, b, product);
+        int addOverflows = calculator.addExact(a, b, sum, addOverflowed);
+        int subtractOverflows = calculator.subtractExact(a, b, difference, subtractOverflowed);
+
+        int expectedAdd = 0;
+        int expectedSubtract = 0;
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(a[i] * b[i], product[i]);
+            assertEquals(a[i] + b[i], sum[i]);
+            assertEquals(a[i] - b[i], difference[i]);
+            try {
+                Math.addExact(a[i], b[i]);
+                assertFalse(addOverflowed[i]);
+            } catch (ArithmeticException e) {
+                assertTrue(addOverflowed[i]);
+                expectedAdd++;
+            }
+            try {
+                Math.subtractExact(a[i], b[i]);
+                assertFalse(subtractOverflowed[i]);
+            } catch (ArithmeticException e) {
+                assertTrue(subtractOverflowed[i]);
+                expectedSubtract++;
+            }
+        }
+        assertEquals(expectedAdd, addOverflows);
+        assertEquals(expectedSubtract, subtractOverflows);
+        assertTrue(addOverflows > 0);
+
+        long[] wrapped = new long[1000];
+        calculator.add(a, b, wrapped);
+        assertArrayEquals(sum, wrapped);
+        calculator.subtract(a, b, wrapped);
+        assertArrayEquals(difference, wrapped);
+    }
+
+    /**
+     * Test that arrays of different lengths are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLengthMismatch() {
+        calculator.add(new int[3], new int[3], new int[2]);
+    }
+}
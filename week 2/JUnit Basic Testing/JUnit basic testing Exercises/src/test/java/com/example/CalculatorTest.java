@@ -5,6 +5,8 @@ import org.junit.Test;
 import org.junit.After;
 import static org.junit.Assert.*;
 
+import java.math.BigInteger;
+
 /**
  * JUnit test class for Calculator.
  * This class demonstrates various JUnit testing features and best practices.
@@ -158,6 +160,24 @@ public class CalculatorTest {
         calculator.factorial(-1);
     }
 
+    /**
+     * Test that factorial reports overflow instead of returning a wrapped value.
+     */
+    @Test(expected = ArithmeticException.class)
+    public void testFactorialOverflow() {
+        calculator.factorial(21);
+    }
+
+    /**
+     * Test the exact factorial beyond the range of long.
+     */
+    @Test
+    public void testBigFactorial() {
+        assertEquals(BigInteger.valueOf(calculator.factorial(20)), calculator.bigFactorial(20));
+        assertEquals(new BigInteger("51090942171709440000"), calculator.bigFactorial(21));
+        assertEquals(158, calculator.bigFactorial(100).toString().length());
+    }
+
     /**
      * Test multiple operations together.
      */
@@ -0,0 +1,97 @@
+package com.example;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+
+/**
+ * JUnit test class for FactorialService.
+ */
+public class FactorialServiceTest {
+
+    private FactorialService service;
+
+    @Before
+    public void setUp() {
+        service = new FactorialService(4);
+    }
+
+    /**
+     * Reference implementation: the plain loop, in BigInteger so it cannot overflow.
+     */
+    private static BigInteger loopFactorial(int n) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    /**
+     * Test the long table against the loop for every n that fits in a long.
+     */
+    @Test
+    public void testFactorialExactMatchesLoop() {
+        for (int n = 0; n <= FactorialService.MAX_LONG_FACTORIAL; n++) {
+            assertEquals("Wrong value for " + n + "!", loopFactorial(n).longValue(), service.factorialExact(n));
+        }
+        assertEquals(2432902008176640000L, service.factorialExact(20));
+    }
+
+    /**
+     * Test that factorialExact refuses values that would overflow.
+     */
+    @Test(expected = ArithmeticException.class)
+    public void testFactorialExactOverflow() {
+        service.factorialExact(21);
+    }
+
+    /**
+     * Test the BigInteger factorial, including sizes handled by binary splitting.
+     */
+    @Test
+    public void testFactorialMatchesLoop() {
+        int[] values = {0, 1, 5, 20, 21, 22, 37, 100, 1000, 4321};
+        for (int n : values) {
+            assertEquals("Wrong value for " + n + "!", loopFactorial(n), service.factorial(n));
+        }
+        assertEquals(new BigInteger("51090942171709440000"), service.factorial(21));
+    }
+
+    /**
+     * Test that large results are cached and the cache stays bounded.
+     */
+    @Test
+    public void testCacheIsBounded() {
+        BigInteger first = service.factorial(500);
+        assertSame("Repeated calls should return the cached result", first, service.factorial(500));
+        assertEquals(1, service.cachedCount());
+
+        for (int n = 501; n < 510; n++) {
+            service.factorial(n);
+        }
+        assertEquals(4, service.cachedCount());
+
+        // Small values come from the table and are not cached
+        service.factorial(10);
+        assertEquals(4, service.cachedCount());
+    }
+
+    /**
+     * Test negative input.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeFactorial() {
+        service.factorial(-1);
+    }
+
+    /**
+     * Test negative cache size.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCacheSize() {
+        new FactorialService(-1);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+/**
+ * JUnit test class for FormulaCompiler and Formula.
+ */
+public class FormulaCompilerTest {
+
+    private FormulaCompiler compiler;
+
+    @Before
+    public void setUp() {
+        compiler = new FormulaCompiler(8);
+    }
+
+    /**
+     * Test precedence, associativity, unary minus and parentheses.
+     */
+    @Test
+    public void testEvaluation() {
+        assertEquals(14, compiler.compile("2 + 3 * 4").evaluate());
+        assertEquals(20, compiler.compile("(2 + 3) * 4").evaluate());
+        assertEquals(3, compiler.compile("10 - 4 - 3").evaluate());
+        assertEquals(5, compiler.compile("100 / 10 / 2").evaluate());
+        assertEquals(-7, compiler.compile("-(3 + 4)").evaluate());
+        assertEquals(7, compiler.compile("--7").evaluate());
+        assertEquals(120, compiler.compile("5!").evaluate());
+        assertEquals(720, compiler.compile("factorial(2 + 1)!").evaluate());
+    }
+
+    /**
+     * Test formulas with variables, bound in order of first appearance.
+     */
+    @Test
+    public void testVariables() {
+        // Arrange
+        Formula formula = compiler.compile("price * quantity - discount + price");
+
+        // Act
+        long result = formula.evaluate(25, 4, 10);
+
+        // Assert
+        assertEquals(Arrays.asList("price", "quantity", "discount"), formula.getVariables());
+        assertEquals(25 * 4 - 10 + 25, result);
+        assertEquals(-3, formula.evaluate(-1, 1, 1));
+    }
+
+    /**
+     * Test that the compiled formula agrees with the Calculator operations it is built on.
+     */
+    @Test
+    public void testMatchesCalculator() {
+        Calculator calculator = new Calculator();
+        Formula formula = compiler.compile("(a + b) * (a - b) + n!");
+        for (int a = -20; a <= 20; a += 7) {
+            for (int b = -20; b <= 20; b += 9) {
+                for (int n = 0; n <= 6; n++) {
+                    long expected = calculator.add(calculator.multiply(calculator.add(a, b), calculator.subtract(a, b)),
+                            (int) calculator.factorial(n));
+                    assertEquals(expected, formula.evaluate(a, b, n));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test constant folding and algebraic identities.
+     */
+    @Test
+    public void testConstantFolding() {
+        assertEquals("x * 6", compiler.compile("x * 3!").getOptimized());
+        assertEquals("x", compiler.compile("(x + 0) * 1 / 1 - 0").getOptimized());
+        assertEquals("14", compiler.compile("2 + 3 * 4").getOptimized());
+        assertEquals("x - (y - 3)", compiler.compile("x - (y - (1 + 2))").getOptimized());
+        // Negations of variables are kept, since -x overflows for Long.MIN_VALUE
+        assertEquals("---x", compiler.compile("---x").getOptimized());
+        // Failing constant operations are kept, so they fail when evaluated
+        assertEquals("x + 1 / 0", compiler.compile("x + 1 / 0").getOptimized());
+    }
+
+    /**
+     * Test that results which are not exact longs are reported instead of wrapped or rounded.
+     */
+    @Test
+    public void testExactArithmetic() {
+        Formula sum = compiler.compile("a + b");
+        try {
+            sum.evaluate(Long.MAX_VALUE, 1);
+            fail("Expected ArithmeticException was not thrown");
+        } catch (ArithmeticException e) {
+            assertEquals("long overflow", e.getMessage());
+        }
+        String[] negations = {"--x", "-(-x + 0)", "-(-x * 1)"};
+        for (String source : negations) {
+            try {
+                compiler.compile(source).evaluate(Long.MIN_VALUE);
+                fail("Expected ArithmeticException for: " + source);
+            } catch (ArithmeticException e) {
+                assertEquals("long overflow", e.getMessage());
+            }
+        }
+        try {
+            compiler.compile("7 / 2").evaluate();
+            fail("Expected ArithmeticException was not thrown");
+        } catch (ArithmeticException e) {
+            assertTrue(e.getMessage().contains("not a whole number"));
+        }
+        try {
+            compiler.compile("n!").evaluate(21);
+            fail("Expected ArithmeticException was not thrown");
+        } catch (ArithmeticException e) {
+            // 21! does not fit in a long
+        }
+    }
+
+    /**
+     * Test division by zero and factorial of negative numbers, as in Calculator.
+     */
+    @Test
+    public void testCalculatorErrors() {
+        try {
+            compiler.compile("x / (y - y)").evaluate(1, 5);
+            fail("Expected IllegalArgumentException was not thrown");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Division by zero is not allowed", e.getMessage());
+        }
+        try {
+            compiler.compile("factorial(-x)").evaluate(3);
+            fail("Expected IllegalArgumentException was not thrown");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Factorial is not defined for negative numbers", e.getMessage());
+        }
+    }
+
+    /**
+     * Test syntax errors.
+     */
+    @Test
+    public void testSyntaxErrors() {
+        String[] invalid = {"", "1 +", "(1 + 2", "1 + 2)", "2 $ 3", "99999999999999999999", "factorial(1"};
+        for (String source : invalid) {
+            try {
+                compiler.compile(source);
+                fail("Expected IllegalArgumentException for: " + source);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("in formula"));
+            }
+        }
+    }
+
+    /**
+     * Test wrong number of values.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongNumberOfValues() {
+        compiler.compile("x + y").evaluate(1);
+    }
+
+    /**
+     * Test that a formula runs in a generated class of its own, whose source file is the formula.
+     */
+    @Test
+    public void testGeneratedClass() {
+        try {
+            compiler.compile("a * b + 1").evaluate(Long.MAX_VALUE, 2);
+            fail("Expected ArithmeticException was not thrown");
+        } catch (ArithmeticException e) {
+            StackTraceElement generated = null;
+            for (StackTraceElement frame : e.getStackTrace()) {
+                if (frame.getClassName().startsWith("com.example.CompiledFormula")) {
+                    generated = frame;
+                    break;
+                }
+            }
+            assertNotNull("No generated class in the stack trace", generated);
+            assertEquals("applyAsLong", generated.getMethodName());
+            assertEquals("a * b + 1", generated.getFileName());
+        }
+    }
+
+    /**
+     * Test that compiled formulas are cached by source text, up to the cache size.
+     */
+    @Test
+    public void testCache() {
+        Formula first = compiler.compile("x * 2");
+        assertSame(first, compiler.compile("x * 2"));
+        assertNotSame(first, compiler.compile("x*2"));
+
+        for (int i = 0; i < 20; i++) {
+            compiler.compile("x + " + i);
+        }
+        assertEquals(8, compiler.cachedCount());
+    }
+}
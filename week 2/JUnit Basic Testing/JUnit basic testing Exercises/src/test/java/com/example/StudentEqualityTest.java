@@ -0,0 +1,120 @@
+package com.example;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * JUnit test class for the cached hashCode and the equals of Student.
+ */
+public class StudentEqualityTest {
+
+    private Student student;
+
+    @Before
+    public void setUp() {
+        student = new Student("John Doe", 20, "Computer Science");
+        student.addGrade(85.0);
+        student.addGrade(92.5);
+        student.enroll();
+    }
+
+    /**
+     * Test that the cached hash matches the hash computed from scratch.
+     */
+    @Test
+    public void testHashMatchesFields() {
+        int expected = student.getName().hashCode();
+        expected = 31 * expected + student.getAge();
+        expected = 31 * expected + student.getGrades().hashCode();
+        expected = 31 * expected + student.getMajor().hashCode();
+        expected = 31 * expected + 1;
+        assertEquals(expected, student.hashCode());
+        assertEquals(expected, student.hashCode());
+    }
+
+    /**
+     * Test that every mutator invalidates the cached hash.
+     */
+    @Test
+    public void testMutationsChangeHash() {
+        int hash = student.hashCode();
+        student.setName("Jane Doe");
+        assertNotEquals(hash, student.hashCode());
+
+        hash = student.hashCode();
+        student.setAge(21);
+        assertNotEquals(hash, student.hashCode());
+
+        hash = student.hashCode();
+        student.setMajor("Mathematics");
+        assertNotEquals(hash, student.hashCode());
+
+        hash = student.hashCode();
+        student.addGrade(70.0);
+        assertNotEquals(hash, student.hashCode());
+
+        hash = student.hashCode();
+        student.withdraw();
+        assertNotEquals(hash, student.hashCode());
+
+        hash = student.hashCode();
+        student.enroll();
+        assertNotEquals(hash, student.hashCode());
+    }
+
+    /**
+     * Test equality of students built the same way, and inequality after a change.
+     */
+    @Test
+    public void testEquals() {
+        Student other = new Student("John Doe", 20, "Computer Science");
+        other.addGrade(85.0);
+        other.enroll();
+        assertNotEquals(student, other);
+
+        other.addGrade(92.5);
+        assertEquals(student, other);
+        assertEquals(student.hashCode(), other.hashCode());
+
+        other.addGrade(60.0);
+        assertNotEquals(student, other);
+        assertNotEquals(other, student);
+    }
+
+    /**
+     * Test that students with the same grades in a different order are not equal.
+     */
+    @Test
+    public void testGradeOrderMatters() {
+        Student other = new Student("John Doe", 20, "Computer Science");
+        other.addGrade(92.5);
+        other.addGrade(85.0);
+        other.enroll();
+        assertNotEquals(student, other);
+    }
+
+    /**
+     * Test students as HashSet elements, including after a modification and re-insertion.
+     */
+    @Test
+    public void testHashSet() {
+        Set<Student> students = new HashSet<>();
+        students.add(student);
+        Student copy = new Student("John Doe", 20, "Computer Science");
+        copy.addGrade(85.0);
+        copy.addGrade(92.5);
+        copy.enroll();
+        assertTrue(students.contains(copy));
+
+        students.remove(student);
+        student.addGrade(50.0);
+        students.add(student);
+        assertFalse(students.contains(copy));
+        copy.addGrade(50.0);
+        assertTrue(students.contains(copy));
+    }
+}
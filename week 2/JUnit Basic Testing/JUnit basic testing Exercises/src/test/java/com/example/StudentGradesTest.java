@@ -0,0 +1,132 @@
+package com.example;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+/**
+ * JUnit test class for the grade storage and running statistics of Student.
+ */
+public class StudentGradesTest {
+
+    private Student student;
+
+    @Before
+    public void setUp() {
+        student = new Student("John Doe", 20, "Computer Science");
+    }
+
+    /**
+     * Test that many grades are stored in order, past the initial capacity.
+     */
+    @Test
+    public void testManyGrades() {
+        // Arrange
+        double[] expected = new double[100];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = i;
+        }
+
+        // Act
+        for (double grade : expected) {
+            student.addGrade(grade);
+        }
+
+        // Assert
+        assertArrayEquals(expected, student.getGradeView().toArray(), 0.0);
+        assertEquals(100, student.getGrades().size());
+        assertEquals(49.5, student.calculateAverageGrade(), 1e-12);
+        assertEquals(300, student.getTotalCredits());
+    }
+
+    /**
+     * Test the running minimum and maximum.
+     */
+    @Test
+    public void testMinAndMax() {
+        assertEquals(0.0, student.getMinGrade(), 0.0);
+        assertEquals(0.0, student.getMaxGrade(), 0.0);
+
+        student.addGrade(72.5);
+        assertEquals(72.5, student.getMinGrade(), 0.0);
+        assertEquals(72.5, student.getMaxGrade(), 0.0);
+
+        student.addGrade(91.0);
+        student.addGrade(64.0);
+        assertEquals(64.0, student.getMinGrade(), 0.0);
+        assertEquals(91.0, student.getMaxGrade(), 0.0);
+    }
+
+    /**
+     * Test that the compensated running sum does not drift like a naive sum.
+     */
+    @Test
+    public void testCompensatedAverage() {
+        double naiveSum = 0.0;
+        for (int i = 0; i < 1_000_000; i++) {
+            student.addGrade(0.1);
+            naiveSum += 0.1;
+        }
+
+        assertEquals(0.1, student.calculateAverageGrade(), 1e-15);
+        assertNotEquals("A naive sum should have drifted", 0.1, naiveSum / 1_000_000, 1e-15);
+    }
+
+    /**
+     * Test that the grade view is read-only, unboxed and always current.
+     */
+    @Test
+    public void testGradeView() {
+        // Arrange
+        Student.GradeView view = student.getGradeView();
+        assertTrue(view.isEmpty());
+
+        // Act
+        student.addGrade(80.0);
+        student.addGrade(90.0);
+
+        // Assert
+        assertSame("The view is not copied", view, student.getGradeView());
+        assertEquals(2, view.size());
+        assertEquals(90.0, view.get(1), 0.0);
+        assertEquals(170.0, view.stream().sum(), 0.0);
+
+        double[] copy = view.toArray();
+        copy[0] = 0.0;
+        assertEquals("Changing a copy does not change the student", 80.0, view.get(0), 0.0);
+    }
+
+    /**
+     * Test reading past the last grade.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGradeViewOutOfBounds() {
+        student.addGrade(80.0);
+        student.getGradeView().get(1);
+    }
+
+    /**
+     * Test that equality and hash code still follow the grade list.
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+        Student same = new Student("John Doe", 20, "Computer Science");
+        student.addGrade(85.0);
+        same.addGrade(85.0);
+
+        assertEquals(student, same);
+        assertEquals(student.hashCode(), same.hashCode());
+
+        int expectedHash = "John Doe".hashCode();
+        expectedHash = 31 * expectedHash + 20;
+        expectedHash = 31 * expectedHash + Arrays.asList(85.0).hashCode();
+        expectedHash = 31 * expectedHash + "Computer Science".hashCode();
+        expectedHash = 31 * expectedHash;
+        assertEquals(expectedHash, student.hashCode());
+
+        same.addGrade(70.0);
+        assertNotEquals(student, same);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * JUnit test class for the columnar StudentRoster.
+ */
+public class StudentRosterTest {
+
+    private StudentRoster roster;
+
+    @Before
+    public void setUp() {
+        roster = new StudentRoster(Arrays.asList(
+                student("Alice", 20, "Computer Science", true, 90.0, 80.0),
+                student("Bob", 22, "Mathematics", true, 50.0, 55.0),
+                student("Carol", 19, "Computer Science", false, 70.0),
+                student("Dave", 25, "Mathematics", true, 65.0, 75.0),
+                student("Eve", 21, "Computer Science", true)));
+    }
+
+    /**
+     * Test that each column keeps the student's values.
+     */
+    @Test
+    public void testColumns() {
+        assertEquals(5, roster.size());
+        assertEquals("Bob", roster.getName(1));
+        assertEquals(22, roster.getAge(1));
+        assertEquals("Mathematics", roster.getMajor(1));
+        assertTrue(roster.isEnrolled(1));
+        assertFalse(roster.isEnrolled(2));
+        assertEquals(2, roster.getGradeCount(0));
+        assertEquals(85.0, roster.getAverageGrade(0), 1e-12);
+        assertEquals(0.0, roster.getAverageGrade(4), 0.0);
+
+        roster.setEnrolled(2, true);
+        assertTrue(roster.isEnrolled(2));
+    }
+
+    /**
+     * Test grouping by major.
+     */
+    @Test
+    public void testGroupByMajor() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("Computer Science", 3L);
+        counts.put("Mathematics", 2L);
+        assertEquals(counts, roster.countByMajor());
+
+        // Computer Science: (85 + 70 + 0) / 3; Mathematics: (52.5 + 70) / 2
+        Map<String, Double> averages = roster.averageGradeByMajor();
+        assertEquals(155.0 / 3, averages.get("Computer Science"), 1e-12);
+        assertEquals(61.25, averages.get("Mathematics"), 1e-12);
+
+        Map<String, Double> enrolledAverages = roster.averageGradeByMajor(roster.enrolled());
+        assertEquals(42.5, enrolledAverages.get("Computer Science"), 1e-12);
+    }
+
+    /**
+     * Test filters and counts.
+     */
+    @Test
+    public void testFilterAndCount() {
+        assertEquals(2, roster.countEnrolledAndPassing());
+        assertEquals(2, roster.count(roster.enrolled().and(roster.passing())));
+        assertArrayEquals(new int[] {0, 3}, roster.filter(roster.enrolled().and(roster.passing())));
+        assertArrayEquals(new int[] {1, 3}, roster.filter(roster.majorIs("Mathematics")));
+        assertArrayEquals(new int[] {0, 2, 4}, roster.filter(roster.ageBetween(19, 21)));
+        assertEquals(0, roster.count(roster.majorIs("History")));
+    }
+
+    /**
+     * Test that predicates created before the columns grow still see every row.
+     */
+    @Test
+    public void testPredicatesSurviveResize() {
+        IntPredicate enrolled = roster.enrolled();
+        IntPredicate passing = roster.passing();
+        IntPredicate mathematics = roster.majorIs("Mathematics");
+        IntPredicate history = roster.majorIs("History");
+        IntPredicate teenagers = roster.ageBetween(13, 19);
+
+        // Enough rows to replace the column arrays more than once
+        for (int i = 0; i < 100; i++) {
+            roster.add(student("New" + i, 19, i % 2 == 0 ? "History" : "Mathematics", true, 95.0));
+        }
+
+        assertEquals(104, roster.count(enrolled));
+        assertEquals(102, roster.count(enrolled.and(passing)));
+        assertEquals(52, roster.count(mathematics));
+        assertEquals(50, roster.count(history));
+        assertEquals(101, roster.count(teenagers));
+        assertEquals(Long.valueOf(50), roster.countByMajor(history).get("History"));
+    }
+
+    /**
+     * Test that queries over many rows agree with the Student objects.
+     */
+    @Test
+    public void testLargeRosterMatchesStudents() {
+        StudentRoster large = new StudentRoster();
+        long expectedEnrolledPassing = 0;
+        for (int i = 0; i < 10_000; i++) {
+            Student s = student("S" + i, 18 + i % 10, i % 3 == 0 ? "Physics" : "History", i % 4 != 0, i % 100);
+            if (s.isEnrolled() && s.isPassing()) {
+                expectedEnrolledPassing++;
+            }
+            assertEquals(i, large.add(s));
+        }
+
+        assertEquals(10_000, large.size());
+        assertEquals(expectedEnrolledPassing, large.countEnrolledAndPassing());
+        assertEquals(expectedEnrolledPassing, large.count(large.enrolled().and(large.passing())));
+        assertEquals(Long.valueOf(3334), large.countByMajor().get("Physics"));
+    }
+
+    /**
+     * Test that an invalid row is rejected.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidRow() {
+        roster.getName(5);
+    }
+
+    private static Student student(String name, int age, String major, boolean enrolled, double... grades) {
+        Student student = new Student(name, age, major);
+        for (double grade : grades) {
+            student.addGrade(grade);
+        }
+        if (enrolled) {
+            student.enroll();
+        }
+        return student;
+    }
+}